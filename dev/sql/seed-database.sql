@@ -1,10 +1,9 @@
 TRUNCATE filings;
-INSERT INTO filings(
+WITH new_filing (
     discovered_date, status, registry_code, download_url,
     company_name, company_number, external_filing_id, external_view_url,
     filing_date, document_date
-)
-VALUES (
+) AS (VALUES (
     CURRENT_TIMESTAMP, 'pending', 'CH',
     'https://find-and-update.company-information.service.gov.uk/company/11162569/filing-history/MzQzOTA3MDIxN2FkaXF6a2N4/document?format=xhtml&download=0',
     'TUSCANY PIZZA LTD', '11162569', 'MzQzOTA3MDIxN2FkaXF6a2N4',
@@ -16,4 +15,19 @@ VALUES (
     'TUSCANY PIZZA LTD', '11162569', 'MzM4MTc1MTcwOWFkaXF6a2N4',
     'https://find-and-update.company-information.service.gov.uk/company/11162569/filing-history/MzM4MTc1MTcwOWFkaXF6a2N4/document?format=xhtml&download=0',
     '2023-06-02', '2023-01-31'
-);
+)),
+new_key AS (
+    INSERT INTO filing_keys (registry_code, external_filing_id)
+    SELECT registry_code, external_filing_id FROM new_filing
+    RETURNING filing_id, registry_code, external_filing_id
+)
+INSERT INTO filings(
+    filing_id, discovered_date, status, registry_code, download_url,
+    company_name, company_number, external_filing_id, external_view_url,
+    filing_date, document_date
+)
+SELECT
+    new_key.filing_id, discovered_date, status, registry_code, download_url,
+    company_name, company_number, external_filing_id, external_view_url,
+    filing_date, document_date
+FROM new_filing JOIN new_key USING (registry_code, external_filing_id);
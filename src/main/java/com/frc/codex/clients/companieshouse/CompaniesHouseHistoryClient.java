@@ -10,4 +10,10 @@ public interface CompaniesHouseHistoryClient {
 	List<URI> getArchiveDownloadLinks();
 	List<URI> getDailyDownloadLinks();
 	List<URI> getMonthlyDownloadLinks();
+
+	/*
+	 * Returns the names of the entries in the archive at the URI, without downloading
+	 * the entries themselves if the server supports range requests.
+	 */
+	List<String> listArchiveEntries(URI uri) throws IOException;
 }
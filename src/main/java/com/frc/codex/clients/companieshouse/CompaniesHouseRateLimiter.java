@@ -5,8 +5,10 @@ import java.sql.Timestamp;
 import org.springframework.http.ResponseEntity;
 
 public interface CompaniesHouseRateLimiter {
+	void acquire() throws InterruptedException;
 	long getLimit();
 	long getRemaining();
+	int getRapidRateLimit();
 	Timestamp getUpdatedTimestamp();
 	Timestamp getResetTimestamp();
 	boolean isHealthy();
@@ -4,6 +4,11 @@ import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -12,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import com.frc.codex.database.DatabaseManager;
 import com.frc.codex.clients.companieshouse.CompaniesHouseClient;
 import com.frc.codex.clients.companieshouse.CompaniesHouseCompany;
+import com.frc.codex.clients.companieshouse.CompaniesHouseRateLimiter;
 import com.frc.codex.clients.companieshouse.RateLimitException;
 import com.frc.codex.indexer.IndexerJob;
 import com.frc.codex.model.Company;
@@ -22,15 +28,20 @@ public class CompaniesHouseCompaniesIndexerImpl implements IndexerJob {
 	private static final Logger LOG = LoggerFactory.getLogger(CompaniesHouseCompaniesIndexerImpl.class);
 	private final CompaniesHouseClient companiesHouseClient;
 	private final DatabaseManager databaseManager;
-	private int companiesHouseSessionCompanyCount;
-	private int companiesHouseSessionFilingCount;
+	private final CompaniesHouseRateLimiter rateLimiter;
+	private final AtomicInteger companiesHouseSessionCompanyCount;
+	private final AtomicInteger companiesHouseSessionFilingCount;
 
 	public CompaniesHouseCompaniesIndexerImpl(
 			CompaniesHouseClient companiesHouseClient,
+			CompaniesHouseRateLimiter rateLimiter,
 			DatabaseManager databaseManager
 	) {
 		this.companiesHouseClient = companiesHouseClient;
 		this.databaseManager = databaseManager;
+		this.rateLimiter = rateLimiter;
+		this.companiesHouseSessionCompanyCount = new AtomicInteger();
+		this.companiesHouseSessionFilingCount = new AtomicInteger();
 	}
 
 	public String getStatus() {
@@ -38,8 +49,8 @@ public class CompaniesHouseCompaniesIndexerImpl implements IndexerJob {
 						Companies House Companies Indexer:
 						\tCompanies completed this session: %s
 						\tFilings discovered this session: %s""",
-				companiesHouseSessionCompanyCount,
-				companiesHouseSessionFilingCount
+				companiesHouseSessionCompanyCount.get(),
+				companiesHouseSessionFilingCount.get()
 		);
 	}
 
@@ -47,6 +58,13 @@ public class CompaniesHouseCompaniesIndexerImpl implements IndexerJob {
 		return true;
 	}
 
+	/*
+	 * Indexes a batch of incomplete companies concurrently on virtual threads.
+	 * Each company's API calls block on the shared rate limiter, which is the
+	 * only throttle. The number of companies in flight is bounded by the limiter's
+	 * rapid rate limit, as more could not make requests within the window anyway.
+	 * Each company is committed as it completes.
+	 */
 	public void run(Supplier<Boolean> continueCallback) throws IOException {
 		if (!continueCallback.get()) {
 			return;
@@ -54,51 +72,80 @@ public class CompaniesHouseCompaniesIndexerImpl implements IndexerJob {
 		LOG.info("Indexing filings from companies index.");
 		List<Company> companies = databaseManager.getIncompleteCompanies(COMPANIES_BATCH_SIZE);
 		LOG.info("Loaded {} incomplete companies from companies index.", companies.size());
-		for (Company company : companies) {
-			if (!continueCallback.get()) {
-				break;
-			}
-			String companyNumber = company.getCompanyNumber();
-			String companyName = company.getCompanyName();
-			if (companyName == null) {
-				// If we don't already have the company's name, pull it from the API.
-				CompaniesHouseCompany companiesHouseCompany = companiesHouseClient.getCompany(companyNumber);
-				companyName = companiesHouseCompany.getCompanyName();
-				Company updateCompany = Company.builder()
-						.companyNumber(companyNumber)
-						.companyName(companyName)
-						.build();
-				databaseManager.updateCompany(updateCompany);
-			}
-			LOG.info("Retrieving filings for company {}.", companyNumber);
-			List<NewFilingRequest> filings;
-			try {
-				filings = companiesHouseClient.getCompanyFilings(companyNumber, companyName);
-			} catch (RateLimitException e) {
-				LOG.warn("Rate limit exceeded while retrieving CH filing history. Resuming later.", e);
-				return;
-			}
-			LOG.info("Retrieved {} filings for company {}.", filings.size(), companyNumber);
-			for (NewFilingRequest filing : filings) {
-				if (!continueCallback.get()) {
+		AtomicBoolean stopped = new AtomicBoolean(false);
+		Semaphore permits = new Semaphore(Math.max(1, rateLimiter.getRapidRateLimit()));
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Company company : companies) {
+				permits.acquire();
+				if (stopped.get() || !continueCallback.get()) {
+					permits.release();
 					break;
 				}
-				if (databaseManager.filingExists(filing.getRegistryCode(), filing.getExternalFilingId())) {
-					LOG.info("Skipping existing filing: {}", filing.getDownloadUrl());
-					continue;
-				}
-				UUID filingId = databaseManager.createFiling(filing);
-				LOG.info("Created CH filing for {}: {}", filing.getDownloadUrl(), filingId);
-				companiesHouseSessionFilingCount += 1;
-
+				executor.submit(() -> {
+					try {
+						if (!indexCompany(company, continueCallback)) {
+							stopped.set(true);
+						}
+					} catch (RateLimitException e) {
+						LOG.warn("Rate limit exceeded while retrieving CH filing history. Resuming later.", e);
+						stopped.set(true);
+					} catch (RuntimeException e) {
+						LOG.error("Failed to index company {}. Retrying later.", company.getCompanyNumber(), e);
+					} finally {
+						permits.release();
+					}
+				});
 			}
-			Company updatedCompany = Company.builder()
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while indexing filings from companies index.");
+		}
+	}
+
+	/*
+	 * Retrieves and creates the company's filings, then marks it completed.
+	 * Returns false if indexing should stop before the company was completed.
+	 */
+	private boolean indexCompany(Company company, Supplier<Boolean> continueCallback) {
+		if (!continueCallback.get()) {
+			return false;
+		}
+		String companyNumber = company.getCompanyNumber();
+		String companyName = company.getCompanyName();
+		if (companyName == null) {
+			// If we don't already have the company's name, pull it from the API.
+			CompaniesHouseCompany companiesHouseCompany = companiesHouseClient.getCompany(companyNumber);
+			companyName = companiesHouseCompany.getCompanyName();
+			Company updateCompany = Company.builder()
 					.companyNumber(companyNumber)
-					.completedDate(new Timestamp(System.currentTimeMillis()))
+					.companyName(companyName)
 					.build();
-			databaseManager.updateCompany(updatedCompany);
-			LOG.info("Completed company: {}", companyNumber);
-			companiesHouseSessionCompanyCount += 1;
+			databaseManager.updateCompany(updateCompany);
+		}
+		LOG.info("Retrieving filings for company {}.", companyNumber);
+		List<NewFilingRequest> filings = companiesHouseClient.getCompanyFilings(companyNumber, companyName);
+		LOG.info("Retrieved {} filings for company {}.", filings.size(), companyNumber);
+		if (!continueCallback.get()) {
+			return false;
 		}
+		List<UUID> filingIds = databaseManager.createFilings(filings);
+		for (int i = 0; i < filings.size(); i++) {
+			NewFilingRequest filing = filings.get(i);
+			UUID filingId = filingIds.get(i);
+			if (filingId == null) {
+				LOG.info("Skipping existing filing: {}", filing.getDownloadUrl());
+				continue;
+			}
+			LOG.info("Created CH filing for {}: {}", filing.getDownloadUrl(), filingId);
+			companiesHouseSessionFilingCount.incrementAndGet();
+		}
+		Company updatedCompany = Company.builder()
+				.companyNumber(companyNumber)
+				.completedDate(new Timestamp(System.currentTimeMillis()))
+				.build();
+		databaseManager.updateCompany(updatedCompany);
+		LOG.info("Completed company: {}", companyNumber);
+		companiesHouseSessionCompanyCount.incrementAndGet();
+		return true;
 	}
 }
@@ -2,11 +2,13 @@ package com.frc.codex.clients.companieshouse.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -25,11 +27,14 @@ import com.frc.codex.clients.companieshouse.CompaniesHouseHistoryClient;
 
 @Component
 public class CompaniesHouseHistoryClientImpl implements CompaniesHouseHistoryClient {
+	private static final int ARCHIVE_READ_ATTEMPTS = 5;
+	private static final Duration ARCHIVE_READ_TIMEOUT = Duration.ofSeconds(60);
 
 	private final URI DOWNLOAD_ARCHIVE_PAGE_URL = URI.create("https://download.companieshouse.gov.uk/historicmonthlyaccountsdata.html");
 	private final URI DOWNLOAD_DAILY_PAGE_URL = URI.create("https://download.companieshouse.gov.uk/en_accountsdata.html");
 	private final URI DOWNLOAD_MONTHLY_PAGE_URL = URI.create("https://download.companieshouse.gov.uk/en_monthlyaccountsdata.html");
 
+	private final HttpArchiveReader archiveReader;
 	private final Pattern archiveHrefPattern;
 	private final Pattern dailyHrefPattern;
 	private final Pattern hrefPattern;
@@ -37,6 +42,7 @@ public class CompaniesHouseHistoryClientImpl implements CompaniesHouseHistoryCli
 	private final RestTemplate restTemplate;
 
 	public CompaniesHouseHistoryClientImpl(RestTemplate restTemplate) {
+		this.archiveReader = new HttpArchiveReader(ARCHIVE_READ_ATTEMPTS, ARCHIVE_READ_TIMEOUT);
 		this.archiveHrefPattern = Pattern.compile("archive/Accounts_Monthly_Data-.*\\.zip");
 		this.dailyHrefPattern = Pattern.compile("Accounts_Bulk_Data-.*\\.zip");
 		this.hrefPattern = Pattern.compile("<a href=\"(.*?)\">");
@@ -106,4 +112,9 @@ public class CompaniesHouseHistoryClientImpl implements CompaniesHouseHistoryCli
 	public List<URI> getMonthlyDownloadLinks() {
 		return scrapeMatchingHrefs(DOWNLOAD_MONTHLY_PAGE_URL, monthlyHrefPattern);
 	}
+
+	@Override
+	public List<String> listArchiveEntries(URI uri) throws IOException {
+		return archiveReader.listEntries(uri);
+	}
 }
@@ -43,6 +43,12 @@ public class CompaniesHouseHttpClient {
 	public String get(String relativeUrl) {
 		String url = baseUrl + relativeUrl;
 		LOG.info("CH API GET: {}", url);
+		try {
+			rateLimiter.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RateLimitException("Interrupted while waiting for Companies House rate limit.", e);
+		}
 		if (!rateLimiter.isHealthy()) {
 			throw new RateLimitException("Companies House rate limiter state is unhealthy.");
 		}
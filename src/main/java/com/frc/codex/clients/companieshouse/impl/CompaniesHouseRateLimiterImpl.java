@@ -21,11 +21,12 @@ public class CompaniesHouseRateLimiterImpl extends RateLimiter implements Compan
 	private static final Logger LOG = LoggerFactory.getLogger(CompaniesHouseRateLimiterImpl.class);
 	private static final int REMAINING_FLOOR = 25;
 
-	private long limit;
-	private long remaining;
-	private Timestamp updated;
-	private Timestamp reset;
-	private Timestamp lastRejection;
+	// Updated from responses on concurrent indexer threads.
+	private volatile long limit;
+	private volatile long remaining;
+	private volatile Timestamp updated;
+	private volatile Timestamp reset;
+	private volatile Timestamp lastRejection;
 
 	public CompaniesHouseRateLimiterImpl(CompaniesHouseConfig config) {
 		super(config.rapidRateLimit(), config.rapidRateWindow());
@@ -47,12 +48,10 @@ public class CompaniesHouseRateLimiterImpl extends RateLimiter implements Compan
 		return reset;
 	}
 
+	/*
+	 * Does not wait for the rapid rate limit, callers acquire a request first.
+	 */
 	public boolean isHealthy() {
-		try {
-			waitForRapidRateLimit();
-		} catch (InterruptedException e) {
-			return false;
-		}
 		if (updated == null || reset == null) {
 			LOG.info("Rate limit status unknown, assuming healthy.");
 			return true;
@@ -95,7 +94,6 @@ public class CompaniesHouseRateLimiterImpl extends RateLimiter implements Compan
 	}
 
 	public void updateLimits(ResponseEntity<?> response, String url) {
-		registerTimestamp();
 		HttpHeaders headers = response.getHeaders();
 		String limit = headers.getFirst(HEADER_RATE_LIMIT);
 		if (limit != null) {
@@ -3,9 +3,18 @@ package com.frc.codex.clients.companieshouse.impl;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -21,14 +30,40 @@ import com.frc.codex.clients.companieshouse.RateLimitException;
 import com.frc.codex.indexer.IndexerJob;
 import com.frc.codex.model.NewFilingRequest;
 
+/*
+ * Indexes filings from the Companies House stream in three stages, so that slow
+ * enrichment doesn't stop the stream being read and get us disconnected:
+ * a reader that only enqueues parsed events to a bounded buffer, blocking when
+ * it is full; enrichment workers that make the database and API calls for each
+ * event; and a checkpoint committer that persists the timepoint up to which
+ * every event has been processed.
+ */
 public class CompaniesHouseStreamIndexerImpl implements IndexerJob {
 	private static final Logger LOG = LoggerFactory.getLogger(CompaniesHouseStreamIndexerImpl.class);
+	private static final String STREAM_NAME = "companies_house_filings";
+	private static final int BUFFER_CAPACITY = 1000;
+	private static final int ENRICHMENT_WORKERS = 4;
+	private static final long POLL_INTERVAL_MILLIS = 1000;
+	// The checkpoint is written after this many processed events or this much time, whichever comes first.
+	private static final int CHECKPOINT_INTERVAL_EVENTS = 1000;
+	private static final long CHECKPOINT_INTERVAL_MILLIS = 10 * 1000;
 	private final CompaniesHouseClient companiesHouseClient;
 	private final DatabaseManager databaseManager;
-	private int companiesHouseSessionFilingCount;
-	private Date companiesHouseStreamLastOpenedDate;
-	private Long companiesHouseSessionLatestTimepoint;
-	private Long companiesHouseSessionStartTimepoint;
+	private final AtomicInteger companiesHouseSessionFilingCount;
+	private final LongAdder readerBlockedNanos;
+	private final LongAdder enrichedEventCount;
+	private final LongAdder enrichmentWaitNanos;
+	private final LongAdder enrichmentProcessingNanos;
+	private volatile Date companiesHouseStreamLastOpenedDate;
+	private volatile Long companiesHouseSessionLatestTimepoint;
+	private volatile Long companiesHouseSessionStartTimepoint;
+	private volatile BlockingQueue<StreamEvent> buffer;
+	private volatile StreamCheckpointTracker tracker;
+	private volatile Long checkpointTimepoint;
+	private volatile Date checkpointDate;
+	private long checkpointCompletedCount;
+
+	private record StreamEvent(long sequence, CompaniesHouseFiling filing, long enqueuedNanos) {}
 
 	public CompaniesHouseStreamIndexerImpl(
 			CompaniesHouseClient companiesHouseClient,
@@ -36,19 +71,48 @@ public class CompaniesHouseStreamIndexerImpl implements IndexerJob {
 	) {
 		this.companiesHouseClient = companiesHouseClient;
 		this.databaseManager = databaseManager;
+		this.companiesHouseSessionFilingCount = new AtomicInteger();
+		this.readerBlockedNanos = new LongAdder();
+		this.enrichedEventCount = new LongAdder();
+		this.enrichmentWaitNanos = new LongAdder();
+		this.enrichmentProcessingNanos = new LongAdder();
 	}
 
+	/*
+	 * Includes the lag at each stage: events waiting in the buffer and the time the
+	 * reader spent blocked on it, events read but not yet processed and their
+	 * mean wait, and the processed timepoint not yet checkpointed.
+	 */
 	public String getStatus() {
+		BlockingQueue<StreamEvent> buffer = this.buffer;
+		StreamCheckpointTracker tracker = this.tracker;
+		long enrichedCount = enrichedEventCount.sum();
 		return String.format("""
 						Companies House:
 						\tStream last opened: %s
 						\tFilings discovered this session: %s
 						\tEarliest timepoint this session: %s
-						\tLatest timepoint this session: %s""",
+						\tLatest timepoint this session: %s
+						\tReader blocked on full buffer: %s ms
+						\tBuffered events: %s of %s
+						\tEnrichment: %s events by %s workers, %s pending, mean wait %.1f ms, mean processing %.1f ms
+						\tLatest processed timepoint: %s
+						\tLast checkpoint: %s (%s)""",
 				companiesHouseStreamLastOpenedDate,
-				companiesHouseSessionFilingCount,
+				companiesHouseSessionFilingCount.get(),
 				companiesHouseSessionStartTimepoint,
-				companiesHouseSessionLatestTimepoint
+				companiesHouseSessionLatestTimepoint,
+				TimeUnit.NANOSECONDS.toMillis(readerBlockedNanos.sum()),
+				buffer == null ? 0 : buffer.size(),
+				BUFFER_CAPACITY,
+				enrichedCount,
+				ENRICHMENT_WORKERS,
+				tracker == null ? 0 : tracker.getPendingCount(),
+				enrichedCount == 0 ? 0.0 : enrichmentWaitNanos.sum() / 1e6 / enrichedCount,
+				enrichedCount == 0 ? 0.0 : enrichmentProcessingNanos.sum() / 1e6 / enrichedCount,
+				tracker == null ? null : tracker.getCompletedTimepoint(),
+				checkpointTimepoint,
+				checkpointDate
 		);
 	}
 
@@ -118,9 +182,14 @@ public class CompaniesHouseStreamIndexerImpl implements IndexerJob {
 				.registryCode(RegistryCode.COMPANIES_HOUSE.getCode())
 				.streamTimepoint(companiesHouseFiling.timepoint())
 				.build();
-		UUID filingId = this.databaseManager.createFiling(newFilingRequest);
+		// Concurrent workers may race on repeated events for a filing, so existing filings are skipped.
+		UUID filingId = this.databaseManager.createFilings(List.of(newFilingRequest)).get(0);
+		if (filingId == null) {
+			LOG.debug("CH filing stream event: Skipped {}, filing already exists.", companiesHouseFiling.transactionId());
+			return timepoint;
+		}
 		LOG.info("Created CH filing for {}: {}", newFilingRequest.getDownloadUrl(), filingId);
-		this.companiesHouseSessionFilingCount += 1;
+		this.companiesHouseSessionFilingCount.incrementAndGet();
 		return timepoint;
 	}
 
@@ -134,31 +203,176 @@ public class CompaniesHouseStreamIndexerImpl implements IndexerJob {
 			return;
 		}
 		LOG.info("Starting Companies House indexing at {}", System.currentTimeMillis() / 1000);
-		Function<CompaniesHouseFiling, Boolean> callback = (CompaniesHouseFiling filing) -> {
+		Long startTimepoint = this.databaseManager.getStreamCheckpoint(STREAM_NAME);
+		if (startTimepoint == null) {
+			startTimepoint = this.databaseManager.getLatestStreamTimepoint(null);
+		}
+		BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+		StreamCheckpointTracker tracker = new StreamCheckpointTracker();
+		AtomicBoolean readerFinished = new AtomicBoolean(false);
+		AtomicBoolean stopped = new AtomicBoolean(false);
+		CountDownLatch workersFinished = new CountDownLatch(1);
+		this.buffer = buffer;
+		this.tracker = tracker;
+		this.checkpointTimepoint = startTimepoint;
+		this.checkpointDate = new Date();
+		this.checkpointCompletedCount = 0;
+		this.companiesHouseStreamLastOpenedDate = new Date();
+		Thread committer = Thread.ofVirtual()
+				.name("ch-stream-checkpoint")
+				.start(() -> commitCheckpoints(tracker, workersFinished));
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < ENRICHMENT_WORKERS; i++) {
+				workers.submit(() -> enrich(buffer, tracker, readerFinished, stopped));
+			}
+			try {
+				this.companiesHouseClient.streamFilings(
+						startTimepoint,
+						filing -> read(filing, buffer, tracker, stopped, continueCallback)
+				);
+			} catch (RateLimitException e) {
+				LOG.warn("Rate limit exceeded while streaming CH filings. Resuming later.", e);
+			} catch (IOException e) {
+				LOG.error("Companies House stream closed with an exception.", e);
+			} finally {
+				// Workers drain the buffer unless processing was stopped.
+				readerFinished.set(true);
+			}
+		} finally {
+			workersFinished.countDown();
+			try {
+				committer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/*
+	 * Reader stage: enqueues the event, waiting while the buffer is full.
+	 * Returns false to stop streaming.
+	 */
+	private boolean read(
+			CompaniesHouseFiling filing,
+			BlockingQueue<StreamEvent> buffer,
+			StreamCheckpointTracker tracker,
+			AtomicBoolean stopped,
+			Supplier<Boolean> continueCallback
+	) {
+		if (stopped.get()) {
+			return false;
+		}
+		StreamEvent event = new StreamEvent(tracker.register(), filing, System.nanoTime());
+		try {
+			while (!buffer.offer(event, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (stopped.get()) {
+					return false;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopped.set(true);
+			return false;
+		} finally {
+			readerBlockedNanos.add(System.nanoTime() - event.enqueuedNanos());
+		}
+		if (companiesHouseSessionStartTimepoint == null) {
+			companiesHouseSessionStartTimepoint = filing.timepoint();
+		}
+		companiesHouseSessionLatestTimepoint = filing.timepoint();
+		if (!continueCallback.get()) {
+			stopped.set(true);
+			return false;
+		}
+		return true; // Continue streaming
+	}
+
+	/*
+	 * Enrichment stage: processes events from the buffer until the reader has
+	 * finished and the buffer is empty, or processing is stopped.
+	 * A failed event is never completed, so the checkpoint stops before it and
+	 * it is read again in the next session.
+	 */
+	private void enrich(
+			BlockingQueue<StreamEvent> buffer,
+			StreamCheckpointTracker tracker,
+			AtomicBoolean readerFinished,
+			AtomicBoolean stopped
+	) {
+		while (!stopped.get()) {
+			StreamEvent event;
+			try {
+				event = buffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				stopped.set(true);
+				return;
+			}
+			if (event == null) {
+				if (readerFinished.get() && buffer.isEmpty()) {
+					return;
+				}
+				continue;
+			}
+			long start = System.nanoTime();
+			enrichmentWaitNanos.add(start - event.enqueuedNanos());
 			long timepoint;
 			try {
-				timepoint = handleFilingStreamEvent(filing);
-			} catch (JsonProcessingException e) {
+				timepoint = handleFilingStreamEvent(event.filing());
+			} catch (RateLimitException e) {
+				LOG.warn("Rate limit exceeded while processing CH filing stream event. Resuming later.", e);
+				stopped.set(true);
+				return;
+			} catch (JsonProcessingException | RuntimeException e) {
 				LOG.error("Failed to process filing event.", e);
-				return false; // Stop streaming
+				stopped.set(true);
+				return;
 			}
-			if (!continueCallback.get()) {
-				return false;
-			}
-			if (companiesHouseSessionStartTimepoint == null) {
-				companiesHouseSessionStartTimepoint = timepoint;
+			enrichmentProcessingNanos.add(System.nanoTime() - start);
+			enrichedEventCount.increment();
+			tracker.complete(event.sequence(), timepoint);
+		}
+	}
+
+	/*
+	 * Checkpoint stage: periodically persists the processed timepoint until the
+	 * workers have finished, then persists it a final time.
+	 * This is the only thread that writes checkpoints, so they are written in order.
+	 */
+	private void commitCheckpoints(StreamCheckpointTracker tracker, CountDownLatch workersFinished) {
+		try {
+			while (!workersFinished.await(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (tracker.getCompletedCount() - checkpointCompletedCount >= CHECKPOINT_INTERVAL_EVENTS ||
+						System.currentTimeMillis() - checkpointDate.getTime() >= CHECKPOINT_INTERVAL_MILLIS) {
+					checkpoint(tracker);
+				}
 			}
-			companiesHouseSessionLatestTimepoint = timepoint;
-			return true; // Continue streaming
-		};
-		long startTimepoint = this.databaseManager.getLatestStreamTimepoint(null);
-		this.companiesHouseStreamLastOpenedDate = new Date();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			checkpoint(tracker);
+		}
+	}
+
+	/*
+	 * Records the latest timepoint up to which all events have been processed,
+	 * so that the next session resumes from it.
+	 */
+	private void checkpoint(StreamCheckpointTracker tracker) {
+		long completedCount = tracker.getCompletedCount();
+		Long timepoint = tracker.getCompletedTimepoint();
+		if (timepoint == null || timepoint.equals(checkpointTimepoint)) {
+			return;
+		}
+		// Failed attempts also wait for the next interval.
+		checkpointDate = new Date();
+		checkpointCompletedCount = completedCount;
 		try {
-			this.companiesHouseClient.streamFilings(startTimepoint, callback);
-		} catch (RateLimitException e) {
-			LOG.warn("Rate limit exceeded while streaming CH filings. Resuming later.", e);
-		} catch (IOException e) {
-			LOG.error("Companies House stream closed with an exception.", e);
+			databaseManager.updateStreamCheckpoint(STREAM_NAME, timepoint);
+			checkpointTimepoint = timepoint;
+		} catch (RuntimeException e) {
+			// Events since the previous checkpoint are re-read and skipped as existing filings.
+			LOG.error("Failed to checkpoint CH filing stream at timepoint {}.", timepoint, e);
 		}
 	}
 }
@@ -0,0 +1,213 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Reads ZIP archives over HTTP using range requests.
+ * Ranges are resumed from where they stopped if the connection drops, and are
+ * conditional on the archive being unchanged since it was first requested.
+ */
+public class HttpArchiveReader {
+	private static final Logger LOG = LoggerFactory.getLogger(HttpArchiveReader.class);
+	// End of central directory record (22 bytes) with the largest possible comment.
+	private static final int ARCHIVE_TAIL_LENGTH = 22 + 0xFFFF;
+	private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes \\d+-\\d+/(\\d+)");
+	private final int maxAttempts;
+	// A stalled connection is treated as dropped and resumed after this long.
+	private final int timeoutMillis;
+
+	public HttpArchiveReader(int maxAttempts, Duration timeout) {
+		this.maxAttempts = maxAttempts;
+		this.timeoutMillis = (int) timeout.toMillis();
+	}
+
+	/*
+	 * Requests the end of the archive, which contains the end of central directory
+	 * record. If the server returns a partial response, only the central directory
+	 * is then requested and parsed. Otherwise, the full response is scanned as a
+	 * stream without writing it to disk.
+	 */
+	public List<String> listEntries(URI uri) throws IOException {
+		HttpURLConnection connection = openConnection(uri, "bytes=-" + ARCHIVE_TAIL_LENGTH, null);
+		try {
+			int status = connection.getResponseCode();
+			if (status == HttpURLConnection.HTTP_OK) {
+				LOG.info("Range requests not supported, scanning full archive: {}", uri);
+				return scanEntries(connection.getInputStream());
+			}
+			if (status != HttpURLConnection.HTTP_PARTIAL) {
+				throw new IOException("Unexpected response (" + status + ") requesting archive: " + uri);
+			}
+			long archiveLength = getContentRangeLength(connection.getHeaderField("Content-Range"));
+			byte[] tail;
+			try (InputStream inputStream = connection.getInputStream()) {
+				tail = inputStream.readAllBytes();
+			}
+			long tailOffset = archiveLength - tail.length;
+			String validator = getValidator(connection);
+			// Records within the tail are read from it rather than requested again.
+			ZipCentralDirectoryReader reader = new ZipCentralDirectoryReader((offset, length) -> {
+				if (offset >= tailOffset && offset + length <= archiveLength) {
+					return new ByteArrayInputStream(tail, (int) (offset - tailOffset), (int) length);
+				}
+				return new ResumingRangeInputStream(uri, validator, offset, length);
+			}, archiveLength);
+			return reader.readEntryNames();
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/*
+	 * Returns the validator to send in If-Range so that later ranges are only
+	 * served from the same version of the resource: a strong ETag, or otherwise
+	 * the Last-Modified date. Returns null if the response has neither.
+	 */
+	private static String getValidator(HttpURLConnection connection) {
+		String etag = connection.getHeaderField("ETag");
+		if (etag != null && !etag.startsWith("W/")) {
+			return etag;
+		}
+		return connection.getHeaderField("Last-Modified");
+	}
+
+	private static List<String> scanEntries(InputStream inputStream) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+			ZipEntry entry;
+			while ((entry = zipInputStream.getNextEntry()) != null) {
+				names.add(entry.getName());
+			}
+		}
+		return names;
+	}
+
+	private HttpURLConnection openConnection(URI uri, String range, String validator) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+		connection.setRequestMethod("GET");
+		connection.setConnectTimeout(timeoutMillis);
+		connection.setReadTimeout(timeoutMillis);
+		connection.setRequestProperty("Range", range);
+		if (validator != null) {
+			connection.setRequestProperty("If-Range", validator);
+		}
+		// Ranges of a compressed representation can't be parsed.
+		connection.setRequestProperty("Accept-Encoding", "identity");
+		return connection;
+	}
+
+	/*
+	 * Returns the complete length from a Content-Range header, e.g. "bytes 0-99/1000".
+	 */
+	private static long getContentRangeLength(String contentRange) throws IOException {
+		Matcher matcher = contentRange == null ? null : CONTENT_RANGE_PATTERN.matcher(contentRange);
+		if (matcher == null || !matcher.matches()) {
+			throw new IOException("Invalid Content-Range: " + contentRange);
+		}
+		return Long.parseLong(matcher.group(1));
+	}
+
+	/*
+	 * Stream of a range of the resource, which is re-requested from the current
+	 * position if the connection drops before the range is read.
+	 */
+	private class ResumingRangeInputStream extends InputStream {
+		private final URI uri;
+		private final String validator;
+		private final long offset;
+		private final long length;
+		private HttpURLConnection connection;
+		private InputStream inputStream;
+		private long position;
+		private int attempts;
+
+		private ResumingRangeInputStream(URI uri, String validator, long offset, long length) throws IOException {
+			this.uri = uri;
+			this.validator = validator;
+			this.offset = offset;
+			this.length = length;
+			this.position = 0;
+			this.attempts = 0;
+			open();
+		}
+
+		private void open() throws IOException {
+			attempts++;
+			long start = offset + position;
+			long end = offset + length - 1;
+			connection = openConnection(uri, "bytes=" + start + "-" + end, validator);
+			int status = connection.getResponseCode();
+			if (status == HttpURLConnection.HTTP_OK && validator != null) {
+				// If-Range returns the full resource when the validator no longer matches.
+				connection.disconnect();
+				throw new IOException("Archive changed while being read: " + uri);
+			}
+			if (status != HttpURLConnection.HTTP_PARTIAL) {
+				connection.disconnect();
+				throw new IOException("Unexpected response (" + status + ") requesting range of archive: " + uri);
+			}
+			inputStream = connection.getInputStream();
+		}
+
+		/*
+		 * Reopens the range from the current position, if attempts remain.
+		 */
+		private void resume(IOException cause) throws IOException {
+			connection.disconnect();
+			if (attempts >= maxAttempts) {
+				throw cause;
+			}
+			LOG.warn("Range request interrupted at {} of {}, resuming: {}", position, length, uri, cause);
+			open();
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] buffer = new byte[1];
+			return read(buffer, 0, 1) < 0 ? -1 : Byte.toUnsignedInt(buffer[0]);
+		}
+
+		@Override
+		public int read(byte[] buffer, int bufferOffset, int bufferLength) throws IOException {
+			if (position >= length) {
+				return -1;
+			}
+			int maxLength = (int) Math.min(bufferLength, length - position);
+			while (true) {
+				int count;
+				try {
+					count = inputStream.read(buffer, bufferOffset, maxLength);
+				} catch (IOException e) {
+					resume(e);
+					continue;
+				}
+				if (count < 0) {
+					// The response ended before the end of the range.
+					resume(new IOException("Range response ended at " + position + " of " + length + ": " + uri));
+					continue;
+				}
+				position += count;
+				return count;
+			}
+		}
+
+		@Override
+		public void close() {
+			connection.disconnect();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Tracks stream events that are processed concurrently and may complete out of
+ * order. Events are numbered in the order they are read, and the completed
+ * timepoint only advances past an event once it and every event before it have
+ * completed, so that a checkpoint never skips an unprocessed event.
+ */
+public class StreamCheckpointTracker {
+	private final Map<Long, Long> completedOutOfOrder;
+	private long nextSequence;
+	private long completedSequence;
+	private Long completedTimepoint;
+
+	public StreamCheckpointTracker() {
+		this.completedOutOfOrder = new HashMap<>();
+		this.nextSequence = 0;
+		this.completedSequence = 0;
+		this.completedTimepoint = null;
+	}
+
+	/*
+	 * Returns the sequence number of the next event read from the stream.
+	 */
+	public synchronized long register() {
+		return nextSequence++;
+	}
+
+	public synchronized void complete(long sequence, long timepoint) {
+		completedOutOfOrder.put(sequence, timepoint);
+		Long next;
+		while ((next = completedOutOfOrder.remove(completedSequence)) != null) {
+			completedTimepoint = next;
+			completedSequence++;
+		}
+	}
+
+	/*
+	 * Returns the timepoint of the latest event that has completed along with
+	 * all events before it, or null if there is none.
+	 */
+	public synchronized Long getCompletedTimepoint() {
+		return completedTimepoint;
+	}
+
+	/*
+	 * Returns the number of events that have completed along with all events before them.
+	 */
+	public synchronized long getCompletedCount() {
+		return completedSequence;
+	}
+
+	/*
+	 * Returns the number of events read but not yet counted as completed.
+	 */
+	public synchronized long getPendingCount() {
+		return nextSequence - completedSequence;
+	}
+}
@@ -0,0 +1,125 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipException;
+
+/*
+ * Lists the entries of a ZIP archive by reading only its end of central directory
+ * record and central directory, so that the entry data is never transferred.
+ * Supports ZIP64 archives, which is required for archives over 4 GB or with
+ * more than 65535 entries.
+ */
+public class ZipCentralDirectoryReader {
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int END_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+	private static final int ZIP64_END_SIZE = 56;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+
+	@FunctionalInterface
+	public interface RangeReader {
+		/*
+		 * Opens a stream of `length` bytes of the archive starting at `offset`.
+		 */
+		InputStream open(long offset, long length) throws IOException;
+	}
+
+	private final RangeReader rangeReader;
+	private final long archiveLength;
+
+	public ZipCentralDirectoryReader(RangeReader rangeReader, long archiveLength) {
+		this.rangeReader = rangeReader;
+		this.archiveLength = archiveLength;
+	}
+
+	public List<String> readEntryNames() throws IOException {
+		int tailLength = (int) Math.min(archiveLength, END_SIZE + MAX_COMMENT_SIZE);
+		long tailOffset = archiveLength - tailLength;
+		ByteBuffer tail = read(tailOffset, tailLength);
+		int endPosition = findEnd(tail);
+		long entryCount = Short.toUnsignedLong(tail.getShort(endPosition + 10));
+		long directorySize = Integer.toUnsignedLong(tail.getInt(endPosition + 12));
+		long directoryOffset = Integer.toUnsignedLong(tail.getInt(endPosition + 16));
+		if (entryCount == 0xFFFFL || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+			int locatorPosition = endPosition - ZIP64_LOCATOR_SIZE;
+			if (locatorPosition < 0 || tail.getInt(locatorPosition) != ZIP64_LOCATOR_SIGNATURE) {
+				throw new ZipException("ZIP64 end of central directory locator not found.");
+			}
+			long zip64EndOffset = tail.getLong(locatorPosition + 8);
+			ByteBuffer zip64End = read(zip64EndOffset, ZIP64_END_SIZE);
+			if (zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+				throw new ZipException("ZIP64 end of central directory record not found.");
+			}
+			entryCount = zip64End.getLong(32);
+			directorySize = zip64End.getLong(40);
+			directoryOffset = zip64End.getLong(48);
+		}
+		if (directoryOffset + directorySize > archiveLength) {
+			throw new ZipException("Central directory extends beyond the end of the archive.");
+		}
+		return readCentralDirectory(directoryOffset, directorySize, entryCount);
+	}
+
+	/*
+	 * Returns the position of the end of central directory record in the tail.
+	 * The record is followed by a variable length comment, so it is searched for
+	 * backwards from the last position it could start at.
+	 */
+	private static int findEnd(ByteBuffer tail) throws ZipException {
+		for (int position = tail.limit() - END_SIZE; position >= 0; position--) {
+			if (tail.getInt(position) == END_SIGNATURE) {
+				int commentLength = Short.toUnsignedInt(tail.getShort(position + 20));
+				if (position + END_SIZE + commentLength <= tail.limit()) {
+					return position;
+				}
+			}
+		}
+		throw new ZipException("End of central directory record not found.");
+	}
+
+	private List<String> readCentralDirectory(long offset, long size, long entryCount) throws IOException {
+		List<String> names = new ArrayList<>((int) Math.min(entryCount, Integer.MAX_VALUE - 8));
+		ByteBuffer header = ByteBuffer.allocate(CENTRAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		try (InputStream inputStream = rangeReader.open(offset, size)) {
+			for (long i = 0; i < entryCount; i++) {
+				readFully(inputStream, header.array(), CENTRAL_HEADER_SIZE);
+				if (header.getInt(0) != CENTRAL_HEADER_SIGNATURE) {
+					throw new ZipException("Invalid central directory header for entry " + i + ".");
+				}
+				int nameLength = Short.toUnsignedInt(header.getShort(28));
+				int extraLength = Short.toUnsignedInt(header.getShort(30));
+				int commentLength = Short.toUnsignedInt(header.getShort(32));
+				byte[] name = new byte[nameLength];
+				readFully(inputStream, name, nameLength);
+				names.add(new String(name, StandardCharsets.UTF_8));
+				inputStream.skipNBytes(extraLength + commentLength);
+			}
+		}
+		return names;
+	}
+
+	private ByteBuffer read(long offset, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		try (InputStream inputStream = rangeReader.open(offset, length)) {
+			readFully(inputStream, bytes, length);
+		}
+		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void readFully(InputStream inputStream, byte[] bytes, int length) throws IOException {
+		if (inputStream.readNBytes(bytes, 0, length) < length) {
+			throw new EOFException("Unexpected end of central directory.");
+		}
+	}
+}
@@ -34,8 +34,8 @@ import com.frc.codex.clients.fca.FcaClient;
 import com.frc.codex.clients.fca.FcaFiling;
 import com.frc.codex.indexer.Indexer;
 import com.frc.codex.indexer.QueueManager;
-import com.frc.codex.model.Filing;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.NewFilingRequest;
 
 import jakarta.servlet.http.Cookie;
@@ -45,6 +45,7 @@ import jakarta.servlet.http.HttpServletResponse;
 @Controller
 public class AdminController extends BaseController {
 	private static final Logger LOG = LoggerFactory.getLogger(DatabaseManagerImpl.class);
+	private static final int SMOKE_TEST_FILINGS_LIMIT = 100;
 	private final CompaniesHouseClient companiesHouseClient;
 	private final CompaniesHouseHistoryClient companiesHouseHistoryClient;
 	private final CompaniesHouseRateLimiter companiesHouseRateLimiter;
@@ -104,9 +105,45 @@ public class AdminController extends BaseController {
 		model.addAttribute("chStreamUrl", properties.companiesHouseStreamApiBaseUrl());
 		model.addAttribute("fcaDataApiBaseUrl", properties.fcaDataApiBaseUrl());
 		model.addAttribute("fcaSearchApiUrl", properties.fcaSearchApiUrl());
+		model.addAttribute("searchCacheStatus", databaseManager.getSearchCacheStatus());
 		return "admin/index";
 	}
 
+	/*
+	 * Shows a filing along with its processing output, which is only loaded here.
+	 */
+	@GetMapping("/admin/filing")
+	public Object filingPage(HttpServletRequest request, Model model, @RequestParam("filingId") String filingId) {
+		if (!authenticateAdmin(request)) {
+			return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+		}
+		UUID id;
+		try {
+			id = UUID.fromString(filingId.trim());
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>("Invalid filing ID", HttpStatus.BAD_REQUEST);
+		}
+		FilingSummary filing = databaseManager.getFilingSummary(id);
+		if (filing == null) {
+			return new ResponseEntity<>("Filing not found", HttpStatus.NOT_FOUND);
+		}
+		model.addAttribute("filing", filing);
+		model.addAttribute("filingResult", databaseManager.getFilingResult(id));
+		return "admin/filing";
+	}
+
+	/*
+	 * Shows connection pool, operation and statement timings for this instance.
+	 */
+	@GetMapping("/admin/metrics")
+	public Object metricsPage(HttpServletRequest request, Model model) {
+		if (!authenticateAdmin(request)) {
+			return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
+		}
+		model.addAttribute("metricsReport", databaseManager.getMetricsReport());
+		return "admin/metrics";
+	}
+
 	@PostMapping("/admin/filing/reset")
 	public Object smokeTestSqsPage(HttpServletRequest request, @RequestParam("filingId") String filingId) {
 		if (!authenticateAdmin(request)) {
@@ -161,7 +198,7 @@ public class AdminController extends BaseController {
 
 	/**
 	 * This endpoint demonstrates the database client functionality
-	 * by loading filing data from the database.
+	 * by loading filing statistics and samples of unprocessed and failed filings.
 	 */
 	@GetMapping("/admin/smoketest/database")
 	public Object smokeTestDatabasePage(HttpServletRequest request) {
@@ -169,14 +206,16 @@ public class AdminController extends BaseController {
 			return new ResponseEntity<>("Unauthorized", HttpStatus.UNAUTHORIZED);
 		}
 		ModelAndView model = new ModelAndView("admin/smoketest/database");
-		List<Filing> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING);
-		List<Filing> queuedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.QUEUED);
-		List<Filing> unprocessedFilings = Stream.concat(pendingFilings.stream(), queuedFilings.stream()).toList();
+		List<FilingSummary> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING, null, SMOKE_TEST_FILINGS_LIMIT);
+		List<FilingSummary> queuedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.QUEUED, null, SMOKE_TEST_FILINGS_LIMIT);
+		List<FilingSummary> unprocessedFilings = Stream.concat(pendingFilings.stream(), queuedFilings.stream()).toList();
 		model.addObject("unprocessedFilings", unprocessedFilings);
-		List<Filing> failedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.FAILED);
+		List<FilingSummary> failedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.FAILED, null, SMOKE_TEST_FILINGS_LIMIT);
 		model.addObject("failedFilings", failedFilings);
-		List<Filing> completedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.COMPLETED);
-		model.addObject("completedFilings", completedFilings);
+		// Health is checked against the filings table, as the statistics may be stale.
+		List<FilingSummary> completedFilings = this.databaseManager.getFilingsByStatus(FilingStatus.COMPLETED, null, 1);
+		model.addObject("filingStatistics", this.databaseManager.getFilingStatistics());
+		model.addObject("filingsLimit", SMOKE_TEST_FILINGS_LIMIT);
 		boolean healthy = completedFilings.size() > 0 && failedFilings.size() == 0;
 		model.setStatus(healthy ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR);
 		return model;
@@ -205,9 +244,9 @@ public class AdminController extends BaseController {
 	 */
 	@GetMapping("/admin/smoketest/invoke")
 	public String smokeTestInvokePage() throws InterruptedException {
-		Filing filing = null;
+		FilingSummary filing = null;
 		while (filing == null) {
-			List<Filing> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING);
+			List<FilingSummary> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING, null, 1);
 			if (pendingFilings.size() > 0) {
 				filing = pendingFilings.get(0);
 			} else {
@@ -257,12 +296,12 @@ public class AdminController extends BaseController {
 	 */
 	@GetMapping("/admin/smoketest/wait")
 	public ResponseEntity<String> smokeTestWaitPage() throws InterruptedException {
-		HashMap<RegistryCode, Filing> filings = new HashMap<>();
+		HashMap<RegistryCode, FilingSummary> filings = new HashMap<>();
 		boolean filingsReady = false;
 		while (!filingsReady) {
 			for(RegistryCode registryCode : RegistryCode.values()) {
 				if (!filings.containsKey(registryCode)) {
-					List<Filing> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING, registryCode);
+					List<FilingSummary> pendingFilings = this.databaseManager.getFilingsByStatus(FilingStatus.PENDING, registryCode, 1);
 					if (pendingFilings.size() > 0) {
 						filings.put(registryCode, pendingFilings.get(0));
 					}
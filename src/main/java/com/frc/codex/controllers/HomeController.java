@@ -18,8 +18,10 @@ import org.springframework.web.servlet.ModelAndView;
 
 import com.frc.codex.properties.FilingIndexProperties;
 import com.frc.codex.database.DatabaseManager;
-import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingSummary;
+import com.frc.codex.model.SearchCursor;
 import com.frc.codex.model.SearchFilingsRequest;
+import com.frc.codex.model.SearchFilingsResult;
 import com.frc.codex.model.SurveyRequest;
 import com.frc.codex.support.SupportManager;
 
@@ -69,7 +71,7 @@ public class HomeController {
 		model.addObject("maxDocumentDateError", getDateValidation(searchFilingsRequest::getMaxDocumentDate));
 		model.addObject("maxFilingDateError", getDateValidation(searchFilingsRequest::getMaxFilingDate));
 		searchFilingsRequest.setStatus(null);
-		List<Filing> filings;
+		List<FilingSummary> filings;
 		String message = null;
 		boolean maximumResultsReturned = false;
 		String moreResultsLink = null;
@@ -84,8 +86,11 @@ public class HomeController {
 							Math.min(searchFilingsRequest.getLimit(), this.maximumSearchResults)
 					)
 			);
+			SearchCursor nextCursor = null;
 			try {
-				filings = databaseManager.searchFilings(searchFilingsRequest);
+				SearchFilingsResult result = databaseManager.searchFilings(searchFilingsRequest);
+				filings = result.filings();
+				nextCursor = result.nextCursor();
 			} catch (DateTimeException e) {
 				filings = List.of();
 				message = e.getMessage();
@@ -95,10 +100,11 @@ public class HomeController {
 					message = "No filings matched your search criteria.";
 				}
 			} else {
-				if (filings.size() >= this.maximumSearchResults) {
+				// Paging stops once the maximum number of results has been shown across pages.
+				if (nextCursor != null && nextCursor.offset() >= this.maximumSearchResults) {
 					maximumResultsReturned = true;
-				} else if (filings.size() >= searchFilingsRequest.getLimit()) {
-					moreResultsLink = searchFilingsRequest.getLoadMoreLink(this.searchPageSize, filings.size() - 1);
+				} else if (nextCursor != null) {
+					moreResultsLink = searchFilingsRequest.getLoadMoreLink(nextCursor.encode());
 				}
 			}
 		}
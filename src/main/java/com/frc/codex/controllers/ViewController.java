@@ -31,6 +31,7 @@ import com.frc.codex.model.Filing;
 import com.frc.codex.model.FilingPayload;
 import com.frc.codex.model.FilingResultRequest;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.OimFormat;
 import com.frc.codex.oim.ReportPackageProvider;
 import com.frc.codex.tools.RateLimiter;
@@ -77,24 +78,24 @@ public class ViewController {
 
 	}
 
-	private ModelAndView loadingResult(Filing filing) {
-		return new ModelAndView("redirect:/view/" + filing.getFilingId() + "/loading");
+	private ModelAndView loadingResult(UUID filingId) {
+		return new ModelAndView("redirect:/view/" + filingId + "/loading");
 	}
 
-	private ModelAndView onDemandViewer(Filing filing) {
-		this.processFiling(filing);
-		return loadingResult(filing);
+	private ModelAndView onDemandViewer(FilingSummary filing) {
+		this.processFiling(new FilingPayload(
+				filing.getFilingId(),
+				filing.getDownloadUrl(),
+				filing.getRegistryCode()
+		));
+		return loadingResult(filing.getFilingId());
 	}
 
-	private void processFiling(Filing filing) {
-		UUID filingId = filing.getFilingId();
+	private void processFiling(FilingPayload payload) {
+		UUID filingId = payload.filingId();
 		try {
 			LOG.info("Processing filing on demand: {}", filingId);
-			CompletableFuture<InvokeResponse> invokeResponse = lambdaManager.invokeAsync(new FilingPayload(
-					filingId,
-					filing.getDownloadUrl(),
-					filing.getRegistryCode()
-			));
+			CompletableFuture<InvokeResponse> invokeResponse = lambdaManager.invokeAsync(payload);
 			invokeFutures.put(filingId, invokeResponse);
 		} catch (Exception e) {
 			invokeFutures.remove(filingId);
@@ -134,7 +135,11 @@ public class ViewController {
 			CompletableFuture<InvokeResponse> future = invokeFutures.get(filingUuid);
 			if (future == null) {
 				// No request in progress. We'll start one.
-				this.processFiling(filing);
+				this.processFiling(new FilingPayload(
+						filing.getFilingId(),
+						filing.getDownloadUrl(),
+						filing.getRegistryCode()
+				));
 			}
 			internalError = !waitForFiling(filingUuid);
 			if (!internalError) {
@@ -165,7 +170,7 @@ public class ViewController {
 	) throws InterruptedException {
 
 		UUID filingUuid = UUID.fromString(filingId);
-		Filing filing = databaseManager.getFiling(filingUuid);
+		FilingSummary filing = databaseManager.getFilingSummary(filingUuid);
 		String filingUrl = filing.getExternalViewUrl();
 
 		response.setStatus(HttpStatus.OK.value());
@@ -210,7 +215,7 @@ public class ViewController {
 			@PathVariable("filingId") String filingId
 	) {
 		UUID filingUuid = UUID.fromString(filingId);
-		Filing filing = databaseManager.getFiling(filingUuid);
+		FilingSummary filing = databaseManager.getFilingSummary(filingUuid);
 		LOG.info("[ANALYTICS] VIEWER (filingId=\"{}\",companyNumber=\"{}\")", filingId, filing.getCompanyNumber());
 		if (filing.getStatus().equals(FilingStatus.COMPLETED.toString())) {
 			// Already completed, redirect directly to viewer.
@@ -226,7 +231,7 @@ public class ViewController {
 			return onDemandViewer(filing);
 		} else {
 			// A request is already in progress, we'll redirect to the loading page to wait.
-			return loadingResult(filing);
+			return loadingResult(filing.getFilingId());
 		}
 	}
 
@@ -269,7 +274,7 @@ public class ViewController {
 		UUID filingUuid = UUID.fromString(filingId);
 		if (!invokeFutures.containsKey(filingUuid)) {
 			// We want to invoke on-demand processing here, but not actually return the /loading result.
-			onDemandViewer(databaseManager.getFiling(filingUuid));
+			onDemandViewer(databaseManager.getFilingSummary(filingUuid));
 		}
 		if (waitForFiling(filingUuid)) {
 			return new ModelAndView("redirect:/view/" + filingId + "/viewer");
@@ -1,39 +1,57 @@
 package com.frc.codex.database;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 import com.frc.codex.model.RegistryCode;
 import com.frc.codex.model.Company;
+import com.frc.codex.model.CompanyNumberSet;
 import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingResult;
 import com.frc.codex.model.FilingResultRequest;
+import com.frc.codex.model.FilingStatistics;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingStatusUpdate;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.NewFilingRequest;
 import com.frc.codex.model.SearchFilingsRequest;
+import com.frc.codex.model.SearchFilingsResult;
 import com.frc.codex.model.companieshouse.CompaniesHouseArchive;
 
 public interface DatabaseManager {
 	void applyFilingResult(FilingResultRequest filingResultRequest);
+	List<Boolean> applyFilingResults(List<FilingResultRequest> filingResultRequests);
+	List<FilingSummary> claimPendingFilings(int limit, RegistryCode registryCode);
 	boolean checkCompaniesLimit(int companiesLimit);
 	boolean checkRegistryLimit(RegistryCode registryCode, int limit);
 	boolean companiesHouseArchiveExists(String filename);
 	boolean companyNumberExists(String companyNumber);
 	String createCompaniesHouseArchive(CompaniesHouseArchive archive);
 	UUID createFiling(NewFilingRequest newFilingRequest);
+	List<UUID> createFilings(List<NewFilingRequest> newFilingRequests);
 	boolean filingExists(String registryCode, String externalFilingId);
 	Filing getFiling(UUID filingId);
-	List<Filing> getFilingsByStatus(FilingStatus status);
-	List<Filing> getFilingsByStatus(FilingStatus status, RegistryCode registryCode);
+	FilingSummary getFilingSummary(UUID filingId);
+	FilingResult getFilingResult(UUID filingId);
+	FilingStatistics getFilingStatistics();
+	List<FilingSummary> getFilingsByStatus(FilingStatus status, RegistryCode registryCode, int limit);
 	LocalDateTime getLatestFcaFilingDate(LocalDateTime defaultDate);
 	Long getLatestStreamTimepoint(Long defaultTimepoint);
 	long getRegistryCount(RegistryCode registryCode);
+	Long getStreamCheckpoint(String streamName);
+	void updateStreamCheckpoint(String streamName, long timepoint);
 	void resetFiling(UUID filingId);
-	List<Filing> searchFilings(SearchFilingsRequest searchFilingsRequest);
-	void updateFilingStatus(UUID filingId, String status);
-	Set<String> getCompaniesCompanyNumbers();
+	int resetStaleQueuedFilings(Duration timeout);
+	SearchFilingsResult searchFilings(SearchFilingsRequest searchFilingsRequest);
+	String getSearchCacheStatus();
+	String getMetricsReport();
+	void updateFilingStatus(UUID filingId, LocalDateTime filingDate, String status);
+	int updateFilingStatuses(List<FilingStatusUpdate> updates);
+	CompanyNumberSet getCompaniesCompanyNumbers();
 	void createCompany(Company company);
+	long createCompanies(Iterable<String> companyNumbers);
 	void updateCompany(Company company);
 	List<Company> getIncompleteCompanies(int limit);
 	boolean isHealthy();
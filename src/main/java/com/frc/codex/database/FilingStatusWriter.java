@@ -0,0 +1,21 @@
+package com.frc.codex.database;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface FilingStatusWriter {
+	/*
+	 * Buffers a status update for the filing, replacing any buffered update for it.
+	 * The filing date is used to target the filing's partition.
+	 * The update is written by the next flush.
+	 * Throws IllegalStateException if the writer has been closed.
+	 */
+	void write(UUID filingId, LocalDateTime filingDate, String status);
+
+	/*
+	 * Writes all buffered updates to the database.
+	 */
+	void flush();
+
+	String getStatus();
+}
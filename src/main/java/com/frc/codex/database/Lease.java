@@ -0,0 +1,16 @@
+package com.frc.codex.database;
+
+/*
+ * An exclusive, named lease held by this instance until closed.
+ */
+public interface Lease extends AutoCloseable {
+	String getName();
+
+	/*
+	 * Returns false once the lease has been lost, e.g. if its database session ended.
+	 * Long-running jobs should check this periodically and stop if it returns false.
+	 */
+	boolean isHeld();
+
+	void close();
+}
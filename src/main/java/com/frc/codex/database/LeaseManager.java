@@ -0,0 +1,10 @@
+package com.frc.codex.database;
+
+public interface LeaseManager {
+	String getStatus();
+
+	/*
+	 * Returns the named lease if it is not held by any instance, otherwise null.
+	 */
+	Lease tryAcquire(String name);
+}
@@ -0,0 +1,93 @@
+package com.frc.codex.database.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/*
+ * Thread-safe cache of company numbers known to have filings.
+ * A Bloom filter rebuilt in the background answers most negative lookups,
+ * and a bounded cache holds lookups that were verified against the database.
+ * Until the filter is first built, every uncached lookup is verified.
+ */
+public class CompanyNumberCache {
+	private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+	private static final long MIN_EXPECTED_INSERTIONS = 1000;
+	private final Predicate<String> existsLoader;
+	private final Set<String> recentlyAdded;
+	private final Cache<String, Boolean> verified;
+	private volatile BloomFilter<CharSequence> knownNumbers;
+
+	public CompanyNumberCache(Predicate<String> existsLoader, long maximumSize, Duration ttl) {
+		this.existsLoader = existsLoader;
+		this.recentlyAdded = new HashSet<>();
+		this.verified = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.build();
+		this.knownNumbers = null;
+	}
+
+	public boolean contains(String companyNumber) {
+		Boolean cached = verified.getIfPresent(companyNumber);
+		if (cached != null) {
+			return cached;
+		}
+		BloomFilter<CharSequence> filter = knownNumbers;
+		if (filter != null && !filter.mightContain(companyNumber)) {
+			// Bloom filters have no false negatives, so the number is unknown.
+			return false;
+		}
+		// Either not yet warmed or a possible false positive, check the source.
+		boolean exists = existsLoader.test(companyNumber);
+		verified.put(companyNumber, exists);
+		return exists;
+	}
+
+	/*
+	 * Records a company number that has just been committed.
+	 */
+	public synchronized void add(String companyNumber) {
+		if (companyNumber == null) {
+			return;
+		}
+		BloomFilter<CharSequence> filter = knownNumbers;
+		if (filter != null) {
+			filter.put(companyNumber);
+		}
+		recentlyAdded.add(companyNumber);
+		verified.put(companyNumber, true);
+	}
+
+	/*
+	 * Builds a new filter from the given source and swaps it in.
+	 * Numbers added while the source is being read are carried over.
+	 */
+	public void rebuild(long expectedInsertions, Consumer<Consumer<String>> source) {
+		BloomFilter<CharSequence> filter = BloomFilter.create(
+				Funnels.stringFunnel(StandardCharsets.UTF_8),
+				Math.max(MIN_EXPECTED_INSERTIONS, expectedInsertions),
+				FALSE_POSITIVE_PROBABILITY
+		);
+		source.accept(filter::put);
+		synchronized (this) {
+			recentlyAdded.forEach(filter::put);
+			recentlyAdded.clear();
+			knownNumbers = filter;
+		}
+		// Negative results may have been added since they were verified.
+		verified.asMap().values().removeIf(exists -> !exists);
+	}
+
+	public boolean isWarm() {
+		return knownNumbers != null;
+	}
+}
@@ -2,47 +2,67 @@ package com.frc.codex.database.impl;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
 
 import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.util.StringUtils;
 
 import com.frc.codex.properties.FilingIndexProperties;
 import com.frc.codex.model.RegistryCode;
 import com.frc.codex.database.DatabaseManager;
+import com.frc.codex.database.Lease;
+import com.frc.codex.database.LeaseManager;
+import com.frc.codex.database.impl.QueryExecutor.StatementBinder;
 import com.frc.codex.model.Company;
+import com.frc.codex.model.CompanyNumberSet;
 import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingResult;
 import com.frc.codex.model.FilingResultRequest;
+import com.frc.codex.model.FilingStatistics;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingStatusUpdate;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.NewFilingRequest;
+import com.frc.codex.model.SearchCursor;
 import com.frc.codex.model.SearchFilingsRequest;
+import com.frc.codex.model.SearchFilingsResult;
 import com.frc.codex.model.companieshouse.CompaniesHouseArchive;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 
 import jakarta.annotation.PostConstruct;
 
@@ -50,71 +70,276 @@ import jakarta.annotation.PostConstruct;
 @Profile("application")
 public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 	private static final Logger LOG = LoggerFactory.getLogger(DatabaseManagerImpl.class);
+	private static final long COMPANY_NUMBER_CACHE_SIZE = 10000;
+	private static final Duration COMPANY_NUMBER_CACHE_TTL = Duration.ofMinutes(10);
+	private static final int COMPANY_NUMBER_FETCH_SIZE = 10000;
+	// Numbers committed by long transactions or recorded under a skewed clock are still picked up.
+	private static final Duration COMPANY_NUMBER_REFRESH_OVERLAP = Duration.ofMinutes(5);
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+	private static final int FILING_BATCH_SIZE = 500;
+	private static final int FILING_STATUS_BATCH_SIZE = 500;
 	private static final int MIN_COMPANY_NUMBER_LENGTH = 8; // CRN is 8 characters, LEI is 20 characters
+	private static final long REGISTRY_COUNT_TTL_MILLIS = 10 * 1000;
+	private static final long REPLICA_ROUTING_CACHE_SIZE = 10000;
+	private static final Duration REPLICA_ROUTING_TTL = Duration.ofMinutes(1);
+	// Trigram matching needs at least one full trigram to use its index.
+	static final int MIN_TRIGRAM_SEARCH_LENGTH = 3;
+	private static final long SEARCH_CACHE_SIZE = 1000;
+	private static final Duration SEARCH_CACHE_TTL = Duration.ofMinutes(5);
+	// Columns read by getFilingSummaries, in index order.
+	private static final String FILING_SUMMARY_COLUMNS = "filing_id, discovered_date, status, registry_code, " +
+			"download_url, company_name, company_number, external_filing_id, external_view_url, " +
+			"filing_date, document_date, stub_viewer_url, oim_directory";
+	// Results only carry the filing ID, not the filing date that filings are partitioned
+	// by, so the update probes the filing ID index of every partition: one index
+	// lookup per year of filings plus the default partition.
+	private static final String APPLY_FILING_RESULT_SQL = "UPDATE filings SET " +
+			"status = ?, " +
+			"filename = ?, " +
+			"oim_directory = ?, " +
+			"stub_viewer_url = ?, " +
+			"company_name = COALESCE(company_name, ?), " +
+			"company_number = COALESCE(company_number, ?), " +
+			"document_date = COALESCE(document_date, ?), " +
+			"download_time = ?, " +
+			"upload_time = ?, " +
+			"worker_time = ?, " +
+			"total_processing_time = ?, " +
+			"total_uploaded_bytes = ?, " +
+			"result_timestamp = CURRENT_TIMESTAMP " +
+			"WHERE filing_id = ?";
+	private static final String UPSERT_FILING_RESULT_SQL = "INSERT INTO filing_results (filing_id, error, logs) " +
+			"VALUES (?, ?, ?) " +
+			"ON CONFLICT (filing_id) DO UPDATE SET " +
+			"error = EXCLUDED.error, " +
+			"logs = EXCLUDED.logs, " +
+			"updated_date = CURRENT_TIMESTAMP";
 	public static final Calendar TIMEZONE_UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
 
 	private final FilingIndexProperties properties;
+	private final LeaseManager leaseManager;
 	private final DataSource readDataSource;
 	private final DataSource writeDataSource;
-	private final Set<String> companyNumberCache;
-	private boolean companyNumberCacheInitialized = false;
+	private final DatabaseMetrics metrics;
+	private final QueryExecutor queryExecutor;
+	private final ReplicaRouter replicaRouter;
+	private final RegistryCountCache registryCountCache;
+	private final CompanyNumberCache companyNumberCache;
+	private final SearchResultCache searchResultCache;
+	private volatile Instant companyNumbersRefreshedDate;
 
-	public DatabaseManagerImpl(FilingIndexProperties properties) {
+	public DatabaseManagerImpl(FilingIndexProperties properties, LeaseManager leaseManager) {
 		this.properties = properties;
-		this.readDataSource = new HikariDataSource(properties.getDatabaseConfig("read"));
-		this.writeDataSource = new HikariDataSource(properties.getDatabaseConfig("write"));
-		companyNumberCache = new HashSet<>();
+		this.leaseManager = leaseManager;
+		this.metrics = new DatabaseMetrics(properties.dbSlowQueryThresholdMillis());
+		this.readDataSource = createDataSource(FilingIndexProperties.READ_POOL_NAME);
+		this.writeDataSource = createDataSource(FilingIndexProperties.WRITE_POOL_NAME);
+		this.queryExecutor = new QueryExecutor(readDataSource, writeDataSource, metrics);
+		this.replicaRouter = new ReplicaRouter(
+				queryExecutor,
+				properties.dbReadReplica(),
+				REPLICA_ROUTING_CACHE_SIZE,
+				REPLICA_ROUTING_TTL
+		);
+		this.registryCountCache = new RegistryCountCache(this::loadRegistryCount, REGISTRY_COUNT_TTL_MILLIS);
+		this.companyNumberCache = new CompanyNumberCache(
+				this::loadCompanyNumberExists,
+				COMPANY_NUMBER_CACHE_SIZE,
+				COMPANY_NUMBER_CACHE_TTL
+		);
+		this.searchResultCache = new SearchResultCache(SEARCH_CACHE_SIZE, SEARCH_CACHE_TTL);
+	}
+
+	private HikariDataSource createDataSource(String poolName) {
+		HikariConfig config = properties.getDatabaseConfig(poolName);
+		config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(metrics.getRegistry()));
+		return new HikariDataSource(config);
+	}
+
+	public DatabaseMetrics getMetrics() {
+		return metrics;
+	}
+
+	public String getMetricsReport() {
+		return metrics.getReport();
 	}
 
 	public void applyFilingResult(FilingResultRequest filingResultRequest) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "UPDATE filings SET " +
-					"error = ?, " +
-					"logs = ?, " +
-					"status = ?, " +
-					"filename = ?, " +
-					"oim_directory = ?, " +
-					"stub_viewer_url = ?, " +
-					"company_name = COALESCE(company_name, ?), " +
-					"company_number = COALESCE(company_number, ?), " +
-					"document_date = COALESCE(document_date, ?), " +
-					"download_time = ?, " +
-					"upload_time = ?, " +
-					"worker_time = ?, " +
-					"total_processing_time = ?, " +
-					"total_uploaded_bytes = ?, " +
-					"result_timestamp = CURRENT_TIMESTAMP " +
-					"WHERE filing_id = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			int i = 0;
-			statement.setString(++i, filingResultRequest.getError());
-			statement.setString(++i, filingResultRequest.getLogs());
-			statement.setString(++i, filingResultRequest.getStatus().toString());
-			statement.setString(++i, filingResultRequest.getFilename());
-			if (filingResultRequest.getOimDirectory() == null) {
-				statement.setNull(++i, java.sql.Types.VARCHAR);
-			} else {
-				statement.setString(++i, filingResultRequest.getOimDirectory());
-			}
-			statement.setString(++i, filingResultRequest.getStubViewerUrl());
-			statement.setString(++i, filingResultRequest.getCompanyName());
-			statement.setString(++i, filingResultRequest.getCompanyNumber());
-			statement.setTimestamp(++i, getTimestamp(filingResultRequest.getDocumentDate()), TIMEZONE_UTC);
-			statement.setDouble(++i, filingResultRequest.getDownloadTime());
-			statement.setDouble(++i, filingResultRequest.getUploadTime());
-			statement.setDouble(++i, filingResultRequest.getWorkerTime());
-			statement.setDouble(++i, filingResultRequest.getTotalProcessingTime());
-			statement.setLong(++i, filingResultRequest.getTotalUploadedBytes());
-			statement.setObject(++i, filingResultRequest.getFilingId());
-
-			int affectedRows = statement.executeUpdate();
+		queryExecutor.write(connection -> {
+			int affectedRows = queryExecutor.update(connection, APPLY_FILING_RESULT_SQL,
+					statement -> setFilingResultParameters(statement, filingResultRequest));
 			if (affectedRows == 0) {
 				throw new SQLException("Updating filing result failed, no rows affected.");
 			}
-			connection.commit();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+			queryExecutor.update(connection, UPSERT_FILING_RESULT_SQL,
+					statement -> setFilingResultOutputParameters(statement, filingResultRequest));
+			return null;
+		});
+		onFilingResultApplied(filingResultRequest);
+	}
+
+	/*
+	 * Applies the results in one transaction using batched statements.
+	 * Returns whether each result was applied, in the same order. Results for
+	 * filings that don't exist are not applied. If the batch fails, the results
+	 * are applied individually so that one bad result doesn't fail the others.
+	 */
+	public List<Boolean> applyFilingResults(List<FilingResultRequest> filingResultRequests) {
+		if (filingResultRequests.isEmpty()) {
+			return List.of();
+		}
+		List<Boolean> applied;
+		try {
+			applied = queryExecutor.write(connection -> {
+				int[] affectedRows = queryExecutor.batch(connection, APPLY_FILING_RESULT_SQL,
+						filingResultRequests, this::setFilingResultParameters);
+				List<Boolean> updated = new ArrayList<>(filingResultRequests.size());
+				List<FilingResultRequest> updatedRequests = new ArrayList<>(filingResultRequests.size());
+				for (int i = 0; i < affectedRows.length; i++) {
+					updated.add(affectedRows[i] > 0);
+					if (affectedRows[i] > 0) {
+						updatedRequests.add(filingResultRequests.get(i));
+					}
+				}
+				queryExecutor.batch(connection, UPSERT_FILING_RESULT_SQL,
+						updatedRequests, this::setFilingResultOutputParameters);
+				return updated;
+			});
+		} catch (RuntimeException e) {
+			LOG.warn("Failed to apply batch of {} filing results, applying individually.", filingResultRequests.size(), e);
+			applied = new ArrayList<>(filingResultRequests.size());
+			for (FilingResultRequest filingResultRequest : filingResultRequests) {
+				try {
+					applyFilingResult(filingResultRequest);
+					applied.add(true);
+				} catch (RuntimeException individualException) {
+					LOG.error("Failed to apply filing result: {}", filingResultRequest.getFilingId(), individualException);
+					applied.add(false);
+				}
+			}
+			return applied;
+		}
+		List<UUID> appliedFilingIds = new ArrayList<>();
+		for (int i = 0; i < filingResultRequests.size(); i++) {
+			FilingResultRequest filingResultRequest = filingResultRequests.get(i);
+			if (applied.get(i)) {
+				appliedFilingIds.add(filingResultRequest.getFilingId());
+				updateFilingResultCaches(filingResultRequest);
+			} else {
+				LOG.error("Updating filing result failed, no rows affected: {}", filingResultRequest.getFilingId());
+			}
+		}
+		replicaRouter.recordWrites(appliedFilingIds);
+		return applied;
+	}
+
+	private void onFilingResultApplied(FilingResultRequest filingResultRequest) {
+		replicaRouter.recordWrite(filingResultRequest.getFilingId());
+		updateFilingResultCaches(filingResultRequest);
+	}
+
+	private void updateFilingResultCaches(FilingResultRequest filingResultRequest) {
+		companyNumberCache.add(filingResultRequest.getCompanyNumber());
+		searchResultCache.invalidateUpdatedFiling(
+				filingResultRequest.getFilingId(),
+				filingResultRequest.getCompanyNumber(),
+				filingResultRequest.getCompanyName()
+		);
+	}
+
+	private void setFilingResultParameters(PreparedStatement statement, FilingResultRequest filingResultRequest) throws SQLException {
+		int i = 0;
+		statement.setString(++i, filingResultRequest.getStatus().toString());
+		statement.setString(++i, filingResultRequest.getFilename());
+		if (filingResultRequest.getOimDirectory() == null) {
+			statement.setNull(++i, java.sql.Types.VARCHAR);
+		} else {
+			statement.setString(++i, filingResultRequest.getOimDirectory());
+		}
+		statement.setString(++i, filingResultRequest.getStubViewerUrl());
+		statement.setString(++i, filingResultRequest.getCompanyName());
+		statement.setString(++i, filingResultRequest.getCompanyNumber());
+		statement.setTimestamp(++i, getTimestamp(filingResultRequest.getDocumentDate()), TIMEZONE_UTC);
+		statement.setDouble(++i, filingResultRequest.getDownloadTime());
+		statement.setDouble(++i, filingResultRequest.getUploadTime());
+		statement.setDouble(++i, filingResultRequest.getWorkerTime());
+		statement.setDouble(++i, filingResultRequest.getTotalProcessingTime());
+		statement.setLong(++i, filingResultRequest.getTotalUploadedBytes());
+		statement.setObject(++i, filingResultRequest.getFilingId());
+	}
+
+	private void setFilingResultOutputParameters(PreparedStatement statement, FilingResultRequest filingResultRequest) throws SQLException {
+		int i = 0;
+		statement.setObject(++i, filingResultRequest.getFilingId());
+		statement.setString(++i, filingResultRequest.getError());
+		statement.setString(++i, filingResultRequest.getLogs());
+	}
+
+	/*
+	 * Atomically moves up to `limit` pending filings to queued and returns them.
+	 * Rows locked by a concurrent claim are skipped, so each filing is claimed by
+	 * only one caller even when several instances are queueing jobs.
+	 * The locked filings are updated in the same transaction, split into dated and
+	 * undated filings as in updateFilingStatuses, so that the update is pruned to
+	 * the partitions of the claimed filings' dates.
+	 */
+	public List<FilingSummary> claimPendingFilings(int limit, RegistryCode registryCode) {
+		List<Object> parameters = new ArrayList<>();
+		parameters.add(FilingStatus.PENDING.toString());
+		String registryCondition = "";
+		if (registryCode != null) {
+			registryCondition = "AND registry_code = ? ";
+			parameters.add(registryCode.getCode());
 		}
+		parameters.add(limit);
+		String lockSql = "SELECT filing_id, filing_date FROM filings " +
+				"WHERE status = ? " + registryCondition +
+				"ORDER BY filing_id " +
+				"LIMIT ? " +
+				"FOR UPDATE SKIP LOCKED";
+		String datedSql = "UPDATE filings SET status = ?, claimed_date = CURRENT_TIMESTAMP " +
+				"FROM unnest(?::uuid[], ?::timestamp[]) AS v (claimed_filing_id, claimed_filing_date) " +
+				"WHERE filing_id = claimed_filing_id " +
+				"AND filing_date = claimed_filing_date " +
+				"AND filing_date = ANY (?::timestamp[]) " +
+				"RETURNING " + FILING_SUMMARY_COLUMNS;
+		String undatedSql = "UPDATE filings SET status = ?, claimed_date = CURRENT_TIMESTAMP " +
+				"WHERE filing_id = ANY (?::uuid[]) " +
+				"AND filing_date IS NULL " +
+				"RETURNING " + FILING_SUMMARY_COLUMNS;
+		return queryExecutor.write(connection -> {
+			List<FilingStatusUpdate> locked = queryExecutor.query(connection, lockSql,
+					QueryExecutor.parameters(parameters),
+					resultSet -> new FilingStatusUpdate(
+							resultSet.getObject(1, UUID.class),
+							getLocalDateTime(resultSet.getTimestamp(2, TIMEZONE_UTC)),
+							FilingStatus.QUEUED.toString()
+					));
+			Map<Boolean, List<FilingStatusUpdate>> lockedByDated = locked.stream()
+					.collect(Collectors.partitioningBy(filing -> filing.filingDate() != null));
+			List<FilingSummary> claimed = new ArrayList<>(locked.size());
+			List<FilingStatusUpdate> dated = lockedByDated.get(true);
+			if (!dated.isEmpty()) {
+				claimed.addAll(queryExecutor.query(connection, datedSql, statement -> {
+					// Filing dates are stored as UTC wall-clock times, which is how LocalDateTime formats.
+					Object[] filingDates = dated.stream().map(filing -> filing.filingDate().toString()).toArray();
+					statement.setString(1, FilingStatus.QUEUED.toString());
+					statement.setArray(2, connection.createArrayOf("uuid",
+							dated.stream().map(FilingStatusUpdate::filingId).toArray()));
+					statement.setArray(3, connection.createArrayOf("timestamp", filingDates));
+					statement.setArray(4, connection.createArrayOf("timestamp", filingDates));
+				}, this::mapFilingSummary));
+			}
+			List<FilingStatusUpdate> undated = lockedByDated.get(false);
+			if (!undated.isEmpty()) {
+				claimed.addAll(queryExecutor.query(connection, undatedSql, statement -> {
+					statement.setString(1, FilingStatus.QUEUED.toString());
+					statement.setArray(2, connection.createArrayOf("uuid",
+							undated.stream().map(FilingStatusUpdate::filingId).toArray()));
+				}, this::mapFilingSummary));
+			}
+			return claimed;
+		});
 	}
 
 	public boolean checkCompaniesLimit(int limit) {
@@ -134,196 +359,277 @@ public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 	}
 
 	public boolean companiesHouseArchiveExists(String filename) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT filename FROM ch_archives " +
-					"WHERE filename = ? " +
-					"LIMIT 1";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setObject(1, filename);
-			ResultSet resultSet = statement.executeQuery();
-			return resultSet.next();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+		String sql = "SELECT filename FROM ch_archives " +
+				"WHERE filename = ? " +
+				"LIMIT 1";
+		return queryExecutor.queryForObject(sql,
+				statement -> statement.setObject(1, filename),
+				resultSet -> true
+		) != null;
 	}
 
 	public String createCompaniesHouseArchive(CompaniesHouseArchive archive) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "INSERT INTO ch_archives " +
-					"(filename, uri, archive_type) " +
-					"VALUES (?, ?, ?)";
-			PreparedStatement statement = connection.prepareStatement(sql);
+		String sql = "INSERT INTO ch_archives " +
+				"(filename, uri, archive_type) " +
+				"VALUES (?, ?, ?)";
+		int affectedRows = queryExecutor.update(sql, statement -> {
 			int i = 0;
 			statement.setString(++i, archive.getFilename());
 			statement.setString(++i, archive.getUri().toString());
 			statement.setString(++i, archive.getArchiveType());
-			int affectedRows = statement.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Creating filing failed, no rows affected.");
-			}
-			connection.commit();
-			return archive.getFilename();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		});
+		if (affectedRows == 0) {
+			throw new RuntimeException(new SQLException("Creating filing failed, no rows affected."));
 		}
+		return archive.getFilename();
 	}
 
 	public UUID createFiling(NewFilingRequest newFilingRequest) {
-		UUID filingId;
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "INSERT INTO filings " +
-					"(status, registry_code, download_url, external_filing_id, external_view_url, document_date, filing_date, stream_timepoint, company_name, company_number) " +
-					"VALUES (?, ?, ?, ?, ?, ?, ?, ?, ? ,?)";
-			PreparedStatement statement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
-			int i = 0;
-			statement.setString(++i, FilingStatus.PENDING.toString());
-			statement.setString(++i, newFilingRequest.getRegistryCode());
-			statement.setString(++i, newFilingRequest.getDownloadUrl());
-			statement.setString(++i, newFilingRequest.getExternalFilingId());
-			statement.setString(++i, newFilingRequest.getExternalViewUrl());
-			statement.setTimestamp(++i, getTimestamp(newFilingRequest.getDocumentDate()), TIMEZONE_UTC);
-			statement.setTimestamp(++i, getTimestamp(newFilingRequest.getFilingDate()), TIMEZONE_UTC);
-			if (newFilingRequest.getStreamTimepoint() == null) {
-				statement.setNull(++i, java.sql.Types.BIGINT);
-			} else {
-				statement.setLong(++i, newFilingRequest.getStreamTimepoint());
+		String sql = getInsertFilingSql(false);
+		UUID filingId = queryExecutor.write(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+				setNewFilingParameters(statement, newFilingRequest);
+				int affectedRows = statement.executeUpdate();
+				if (affectedRows == 0) {
+					throw new SQLException("Creating filing failed, no rows affected.");
+				}
+				try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+					if (generatedKeys.next()) {
+						return UUID.fromString(generatedKeys.getString("filing_id"));
+					}
+					throw new SQLException("Creating filing failed, no ID obtained.");
+				}
 			}
-			statement.setString(++i, newFilingRequest.getCompanyName());
-			statement.setString(++i, newFilingRequest.getCompanyNumber());
+		});
+		registryCountCache.increment(RegistryCode.fromCode(newFilingRequest.getRegistryCode()), 1);
+		companyNumberCache.add(newFilingRequest.getCompanyNumber());
+		searchResultCache.invalidateNewFiling(newFilingRequest);
+		return filingId;
+	}
 
-			int affectedRows = statement.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Creating filing failed, no rows affected.");
-			}
-			connection.commit();
-			try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-				if (generatedKeys.next()) {
-					filingId = UUID.fromString(generatedKeys.getString("filing_id"));
-				} else {
-					throw new SQLException("Creating filing failed, no ID obtained.");
+	/*
+	 * Inserts filings using batched statements within a single transaction.
+	 * Filings that already exist for the registry are skipped.
+	 * Returns a list aligned with the given requests containing the new filing ID,
+	 * or null where the filing already existed.
+	 */
+	public List<UUID> createFilings(List<NewFilingRequest> newFilingRequests) {
+		List<UUID> filingIds = new ArrayList<>(newFilingRequests.size());
+		if (newFilingRequests.isEmpty()) {
+			return filingIds;
+		}
+		String sql = getInsertFilingSql(true);
+		queryExecutor.write(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+				for (List<NewFilingRequest> batch : Lists.partition(newFilingRequests, FILING_BATCH_SIZE)) {
+					for (NewFilingRequest newFilingRequest : batch) {
+						setNewFilingParameters(statement, newFilingRequest);
+						statement.addBatch();
+					}
+					int[] affectedRows = statement.executeBatch();
+					// Generated keys are only returned for inserted rows, so they are
+					// matched up with the batch using the per-statement update counts.
+					try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+						for (int affectedRow : affectedRows) {
+							if (affectedRow > 0 && generatedKeys.next()) {
+								filingIds.add(UUID.fromString(generatedKeys.getString("filing_id")));
+							} else {
+								filingIds.add(null);
+							}
+						}
+					}
 				}
 			}
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+			return null;
+		});
+		for (int i = 0; i < filingIds.size(); i++) {
+			if (filingIds.get(i) != null) {
+				NewFilingRequest newFilingRequest = newFilingRequests.get(i);
+				registryCountCache.increment(RegistryCode.fromCode(newFilingRequest.getRegistryCode()), 1);
+				companyNumberCache.add(newFilingRequest.getCompanyNumber());
+				searchResultCache.invalidateNewFiling(newFilingRequest);
+			}
 		}
-		return filingId;
+		return filingIds;
+	}
+
+	/*
+	 * Filing IDs and external filing IDs are kept unique in filing_keys, as the
+	 * partitioned filings table can't enforce uniqueness across partitions.
+	 * The key is inserted first and the filing is only inserted if that succeeds.
+	 */
+	private static String getInsertFilingSql(boolean skipExisting) {
+		return "WITH new_filing " +
+				"(status, registry_code, download_url, external_filing_id, external_view_url, document_date, filing_date, stream_timepoint, company_name, company_number) " +
+				"AS (VALUES (?, ?, ?, ?, ?, ?::timestamp, ?::timestamp, ?::bigint, ?, ?)), " +
+				"new_key AS (" +
+				"INSERT INTO filing_keys (registry_code, external_filing_id) " +
+				"SELECT registry_code, external_filing_id FROM new_filing " +
+				(skipExisting ? "ON CONFLICT (registry_code, external_filing_id) DO NOTHING " : "") +
+				"RETURNING filing_id" +
+				") " +
+				"INSERT INTO filings " +
+				"(filing_id, status, registry_code, download_url, external_filing_id, external_view_url, document_date, filing_date, stream_timepoint, company_name, company_number) " +
+				"SELECT new_key.filing_id, status, registry_code, download_url, external_filing_id, external_view_url, document_date, filing_date, stream_timepoint, company_name, company_number " +
+				"FROM new_key, new_filing " +
+				"RETURNING filing_id";
+	}
+
+	private void setNewFilingParameters(PreparedStatement statement, NewFilingRequest newFilingRequest) throws SQLException {
+		int i = 0;
+		statement.setString(++i, FilingStatus.PENDING.toString());
+		statement.setString(++i, newFilingRequest.getRegistryCode());
+		statement.setString(++i, newFilingRequest.getDownloadUrl());
+		statement.setString(++i, newFilingRequest.getExternalFilingId());
+		statement.setString(++i, newFilingRequest.getExternalViewUrl());
+		statement.setTimestamp(++i, getTimestamp(newFilingRequest.getDocumentDate()), TIMEZONE_UTC);
+		statement.setTimestamp(++i, getTimestamp(newFilingRequest.getFilingDate()), TIMEZONE_UTC);
+		if (newFilingRequest.getStreamTimepoint() == null) {
+			statement.setNull(++i, java.sql.Types.BIGINT);
+		} else {
+			statement.setLong(++i, newFilingRequest.getStreamTimepoint());
+		}
+		statement.setString(++i, newFilingRequest.getCompanyName());
+		statement.setString(++i, newFilingRequest.getCompanyNumber());
 	}
 
 	public boolean filingExists(String registryCode, String externalFilingId) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT filing_id FROM filings " +
-					"WHERE registry_code = ? " +
-					"AND external_filing_id = ? " +
-					"LIMIT 1";
-			PreparedStatement statement = connection.prepareStatement(sql);
+		String sql = "SELECT filing_id FROM filing_keys " +
+				"WHERE registry_code = ? " +
+				"AND external_filing_id = ? " +
+				"LIMIT 1";
+		return queryExecutor.queryForObject(sql, statement -> {
 			int i = 0;
 			statement.setObject(++i, registryCode);
 			statement.setObject(++i, externalFilingId);
-			ResultSet resultSet = statement.executeQuery();
-			return resultSet.next();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+		}, resultSet -> true) != null;
 	}
 
+	/*
+	 * Viewer links only carry the filing ID, so these lookups probe the filing ID
+	 * index of every partition rather than a single partition.
+	 */
 	public Filing getFiling(UUID filingId) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT * FROM filings WHERE filing_id = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setObject(1, filingId);
-			ResultSet resultSet = statement.executeQuery();
-			List<Filing> filings = getFilings(resultSet);
-			if (filings.isEmpty()) {
-				return null;
-			}
-			return filings.get(0);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+		String sql = "SELECT * FROM filings WHERE filing_id = ?";
+		return replicaRouter.read(filingId, connection -> queryExecutor.queryForObject(connection, sql,
+				statement -> statement.setObject(1, filingId),
+				this::mapFiling
+		));
+	}
+
+	public FilingSummary getFilingSummary(UUID filingId) {
+		String sql = "SELECT " + FILING_SUMMARY_COLUMNS + " FROM filings WHERE filing_id = ?";
+		return replicaRouter.read(filingId, connection -> queryExecutor.queryForObject(connection, sql,
+				statement -> statement.setObject(1, filingId),
+				this::mapFilingSummary
+		));
+	}
+
+	/*
+	 * Loads processing output, which is stored separately from the filing.
+	 * Returns null if the filing has no result.
+	 */
+	public FilingResult getFilingResult(UUID filingId) {
+		String sql = "SELECT filing_id, error, logs, updated_date FROM filing_results WHERE filing_id = ?";
+		return replicaRouter.read(filingId, connection -> queryExecutor.queryForObject(connection, sql,
+				statement -> statement.setObject(1, filingId),
+				resultSet -> new FilingResult(
+						UUID.fromString(resultSet.getString("filing_id")),
+						resultSet.getString("error"),
+						resultSet.getString("logs"),
+						resultSet.getTimestamp("updated_date")
+				)
+		));
 	}
 
 	public LocalDateTime getLatestFcaFilingDate(LocalDateTime defaultDate) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT MAX(filing_date) FROM filings WHERE registry_code = 'FCA'";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			ResultSet resultSet = statement.executeQuery();
-			LocalDateTime result = null;
-			if (resultSet.next()) {
-				result = getLocalDateTime(resultSet.getTimestamp(1));
-			}
-			if (result == null) {
-				return defaultDate;
-			}
-			return result;
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		String sql = "SELECT MAX(filing_date) FROM filings WHERE registry_code = 'FCA'";
+		LocalDateTime result = queryExecutor.queryForObject(sql,
+				StatementBinder.NONE,
+				resultSet -> getLocalDateTime(resultSet.getTimestamp(1))
+		);
+		if (result == null) {
+			return defaultDate;
 		}
+		return result;
 	}
 
 	public Long getLatestStreamTimepoint(Long defaultTimepoint) {
-		try (Connection connection = getInitializedConnection(true)) {
-			PreparedStatement statement = connection.prepareStatement(
-					"SELECT MAX(stream_timepoint) FROM filings"
-			);
-			ResultSet resultSet = statement.executeQuery();
-			if (resultSet.next()) {
-				return resultSet.getLong(1);
-			}
+		String sql = "SELECT MAX(stream_timepoint) FROM filings";
+		Long result = queryExecutor.queryForObject(sql,
+				StatementBinder.NONE,
+				resultSet -> resultSet.getLong(1)
+		);
+		if (result == null) {
 			return defaultTimepoint;
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
 		}
+		return result;
 	}
 
-	public List<Filing> getFilingsByStatus(FilingStatus status) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT * FROM filings WHERE status = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setString(1, status.toString());
-			ResultSet resultSet = statement.executeQuery();
-			return getFilings(resultSet);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+	/*
+	 * Returns the last timepoint processed from the stream, or null if the stream
+	 * has not been checkpointed.
+	 */
+	public Long getStreamCheckpoint(String streamName) {
+		String sql = "SELECT timepoint FROM stream_checkpoints WHERE stream_name = ?";
+		return queryExecutor.queryForObject(sql,
+				statement -> statement.setString(1, streamName),
+				resultSet -> resultSet.getLong(1)
+		);
 	}
 
-	public List<Filing> getFilingsByStatus(FilingStatus status, RegistryCode registryCode) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT * FROM filings WHERE status = ? AND registry_code = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			int i = 0;
-			statement.setString(++i, status.toString());
-			statement.setString(++i, registryCode.getCode());
-			ResultSet resultSet = statement.executeQuery();
-			return getFilings(resultSet);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+	public void updateStreamCheckpoint(String streamName, long timepoint) {
+		String sql = "INSERT INTO stream_checkpoints (stream_name, timepoint, updated_date) " +
+				"VALUES (?, ?, CURRENT_TIMESTAMP) " +
+				"ON CONFLICT (stream_name) DO UPDATE SET " +
+				"timepoint = EXCLUDED.timepoint, " +
+				"updated_date = EXCLUDED.updated_date";
+		queryExecutor.update(sql, statement -> {
+			statement.setString(1, streamName);
+			statement.setLong(2, timepoint);
+		});
+	}
+
+	/*
+	 * Returns up to `limit` filings with the given status, ordered by filing ID.
+	 */
+	public List<FilingSummary> getFilingsByStatus(FilingStatus status, RegistryCode registryCode, int limit) {
+		List<String> conditions = new ArrayList<>();
+		List<Object> parameters = new ArrayList<>();
+		conditions.add("status = ?");
+		parameters.add(status.toString());
+		if (registryCode != null) {
+			conditions.add("registry_code = ?");
+			parameters.add(registryCode.getCode());
 		}
+		String sql = "SELECT " + FILING_SUMMARY_COLUMNS + " FROM filings " +
+				"WHERE " + String.join(" AND ", conditions) + " " +
+				"ORDER BY filing_id " +
+				"LIMIT ?";
+		parameters.add(limit);
+		return queryExecutor.query(sql, QueryExecutor.parameters(parameters), this::mapFilingSummary);
 	}
 
 	private long getIncompleteCompaniesCount() {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT COUNT(*) FROM companies WHERE completed_date IS NULL";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			ResultSet resultSet = statement.executeQuery();
-			resultSet.next();
-			return resultSet.getLong(1);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+		String sql = "SELECT COUNT(*) FROM companies WHERE completed_date IS NULL";
+		return queryExecutor.queryForObject(sql, StatementBinder.NONE, resultSet -> resultSet.getLong(1));
 	}
 
+	/*
+	 * Returns the number of filings for the registry.
+	 * Counts are maintained by a trigger on the filings table and cached briefly.
+	 */
 	public long getRegistryCount(RegistryCode registryCode) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT COUNT(*) FROM filings WHERE registry_code = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setString(1, registryCode.getCode());
-			ResultSet resultSet = statement.executeQuery();
-			resultSet.next();
-			return resultSet.getLong(1);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+		return registryCountCache.get(registryCode);
+	}
+
+	private long loadRegistryCount(RegistryCode registryCode) {
+		String sql = "SELECT COALESCE(SUM(filing_count), 0) FROM registry_counts WHERE registry_code = ?";
+		Long count = queryExecutor.queryForObject(sql,
+				statement -> statement.setString(1, registryCode.getCode()),
+				resultSet -> resultSet.getLong(1)
+		);
+		return count == null ? 0 : count;
 	}
 
 	@PostConstruct
@@ -332,134 +638,396 @@ public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 		String seedScriptPath = properties.dbSeedScriptPath();
 		if (seedScriptPath != null) {
 			LOG.info("Seeding database with script: {}", seedScriptPath);
-			try (Connection connection = getInitializedConnection(false)) {
-				String sql = Files.readString(Path.of(seedScriptPath));
-				PreparedStatement statement = connection.prepareStatement(sql);
-				statement.execute();
-				connection.commit();
-			} catch (IOException | SQLException e) {
+			String sql;
+			try {
+				sql = Files.readString(Path.of(seedScriptPath));
+			} catch (IOException e) {
 				throw new RuntimeException(e);
 			}
+			queryExecutor.write(connection -> {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute(sql);
+				}
+				return null;
+			});
 		}
 	}
 
-	private Connection getInitializedConnection(boolean readOnly) throws SQLException {
-		DataSource dataSource = readOnly ? readDataSource : writeDataSource;
-		return dataSource.getConnection();
-	}
-
-	public void updateFilingStatus(UUID filingId, String status) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "UPDATE filings SET status = ? WHERE filing_id = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
+	/*
+	 * Sets the status of the filing, looking it up in its filing date's partition.
+	 */
+	public void updateFilingStatus(UUID filingId, LocalDateTime filingDate, String status) {
+		String sql = "UPDATE filings SET status = ? WHERE filing_id = ? AND " +
+				(filingDate == null ? "filing_date IS NULL" : "filing_date = ?");
+		int affectedRows = queryExecutor.update(sql, statement -> {
 			statement.setString(1, status);
 			statement.setObject(2, filingId);
-
-			int affectedRows = statement.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Updating filing status failed, no rows affected.");
+			if (filingDate != null) {
+				statement.setTimestamp(3, getTimestamp(filingDate), TIMEZONE_UTC);
 			}
-			connection.commit();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		});
+		if (affectedRows == 0) {
+			throw new RuntimeException(new SQLException("Updating filing status failed, no rows affected."));
+		}
+		replicaRouter.recordWrite(filingId);
+	}
+
+	/*
+	 * Returns filings that have been queued for longer than the timeout to pending,
+	 * so that filings claimed by an instance that stopped before processing them,
+	 * or whose return to pending was lost, are claimed again.
+	 * Returns the number of filings reset.
+	 */
+	public int resetStaleQueuedFilings(Duration timeout) {
+		String sql = "UPDATE filings SET status = ? " +
+				"WHERE status = ? AND claimed_date < CURRENT_TIMESTAMP - ? * INTERVAL '1 second' " +
+				"RETURNING filing_id";
+		List<UUID> filingIds = queryExecutor.write(connection -> queryExecutor.query(connection, sql, statement -> {
+			statement.setString(1, FilingStatus.PENDING.toString());
+			statement.setString(2, FilingStatus.QUEUED.toString());
+			statement.setLong(3, timeout.toSeconds());
+		}, resultSet -> resultSet.getObject(1, UUID.class)));
+		replicaRouter.recordWrites(filingIds);
+		return filingIds.size();
+	}
+
+	/*
+	 * Sets the status of each filing, one statement per batch.
+	 * The batch is bound as arrays so that every batch size shares one prepared statement.
+	 * Filings are matched on their filing date as well as their ID, and the batch's
+	 * filing dates are bound again as a list so that partitions holding none of the
+	 * batch's filings are pruned. Filings without a filing date are only looked up
+	 * in the default partition.
+	 * Returns the number of filings updated.
+	 */
+	public int updateFilingStatuses(List<FilingStatusUpdate> updates) {
+		String datedSql = "UPDATE filings SET status = v.status " +
+				"FROM unnest(?::uuid[], ?::timestamp[], ?::text[]) AS v (filing_id, filing_date, status) " +
+				"WHERE filings.filing_id = v.filing_id " +
+				"AND filings.filing_date = v.filing_date " +
+				"AND filings.filing_date = ANY (?::timestamp[])";
+		String undatedSql = "UPDATE filings SET status = v.status " +
+				"FROM unnest(?::uuid[], ?::text[]) AS v (filing_id, status) " +
+				"WHERE filings.filing_id = v.filing_id " +
+				"AND filings.filing_date IS NULL";
+		Map<Boolean, List<FilingStatusUpdate>> updatesByDated = updates.stream()
+				.collect(Collectors.partitioningBy(update -> update.filingDate() != null));
+		int updated = 0;
+		for (List<FilingStatusUpdate> batch : Lists.partition(updatesByDated.get(true), FILING_STATUS_BATCH_SIZE)) {
+			updated += queryExecutor.update(datedSql, statement -> {
+				Connection connection = statement.getConnection();
+				// Filing dates are stored as UTC wall-clock times, which is how LocalDateTime formats.
+				Object[] filingDates = batch.stream().map(update -> update.filingDate().toString()).toArray();
+				statement.setArray(1, connection.createArrayOf("uuid",
+						batch.stream().map(FilingStatusUpdate::filingId).toArray()));
+				statement.setArray(2, connection.createArrayOf("timestamp", filingDates));
+				statement.setArray(3, connection.createArrayOf("text",
+						batch.stream().map(FilingStatusUpdate::status).toArray()));
+				statement.setArray(4, connection.createArrayOf("timestamp", filingDates));
+			});
+			replicaRouter.recordWrites(batch.stream().map(FilingStatusUpdate::filingId).toList());
 		}
+		for (List<FilingStatusUpdate> batch : Lists.partition(updatesByDated.get(false), FILING_STATUS_BATCH_SIZE)) {
+			updated += queryExecutor.update(undatedSql, statement -> {
+				Connection connection = statement.getConnection();
+				statement.setArray(1, connection.createArrayOf("uuid",
+						batch.stream().map(FilingStatusUpdate::filingId).toArray()));
+				statement.setArray(2, connection.createArrayOf("text",
+						batch.stream().map(FilingStatusUpdate::status).toArray()));
+			});
+			replicaRouter.recordWrites(batch.stream().map(FilingStatusUpdate::filingId).toList());
+		}
+		return updated;
 	}
 
-	public ImmutableSet<String> getCompaniesCompanyNumbers() {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT company_number FROM companies";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			ResultSet resultSet = statement.executeQuery();
-			ImmutableSet.Builder<String> results = ImmutableSet.builder();
-			while (resultSet.next()) {
-				results.add(resultSet.getString("company_number"));
+	/*
+	 * Streams all company numbers into a compact set using a cursor.
+	 * The set is presized from the planner's row estimate to avoid regrowing it.
+	 */
+	public CompanyNumberSet getCompaniesCompanyNumbers() {
+		String sql = "SELECT company_number FROM companies";
+		return queryExecutor.read(connection -> {
+			Long estimatedCount = queryExecutor.queryForObject(connection,
+					"SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'companies'::regclass",
+					StatementBinder.NONE,
+					resultSet -> resultSet.getLong(1)
+			);
+			CompanyNumberSet.Builder builder = CompanyNumberSet.builder(
+					estimatedCount == null ? 0 : (int) Math.min(estimatedCount, Integer.MAX_VALUE - 8)
+			);
+			queryExecutor.forEach(connection, sql, StatementBinder.NONE, COMPANY_NUMBER_FETCH_SIZE,
+					resultSet -> builder.add(resultSet.getString(1)));
+			return builder.build();
+		});
+	}
+
+	/*
+	 * Rebuilds the company number cache in the background from the distinct
+	 * company numbers maintained by triggers, rather than from filings.
+	 * Runs at startup so that the first search doesn't have to wait for it,
+	 * and then rarely, as numbers added since are picked up by the minutely top-up.
+	 * Each instance holds its own cache, so this runs on every instance.
+	 */
+	@Scheduled(initialDelay = 0, fixedDelay = 6, timeUnit = TimeUnit.HOURS)
+	public void refreshCompanyNumberCache() {
+		try {
+			LOG.info("Refreshing company number cache.");
+			Instant refreshDate = Instant.now();
+			queryExecutor.read(connection -> {
+				Long expectedInsertions = queryExecutor.queryForObject(connection,
+						"SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'filing_company_numbers'::regclass",
+						StatementBinder.NONE,
+						resultSet -> resultSet.getLong(1)
+				);
+				companyNumberCache.rebuild(expectedInsertions == null ? 0 : expectedInsertions, consumer -> {
+					try {
+						queryExecutor.forEach(connection,
+								"SELECT company_number FROM filing_company_numbers",
+								StatementBinder.NONE,
+								COMPANY_NUMBER_FETCH_SIZE,
+								resultSet -> consumer.accept(resultSet.getString(1))
+						);
+					} catch (SQLException e) {
+						throw new RuntimeException(e);
+					}
+				});
+				return null;
+			});
+			companyNumbersRefreshedDate = refreshDate;
+			LOG.info("Refreshed company number cache.");
+		} catch (RuntimeException e) {
+			LOG.error("Failed to refresh company number cache.", e);
+		}
+	}
+
+	/*
+	 * Adds company numbers recorded since the last refresh to the company number
+	 * cache, including those from filings created by other instances.
+	 */
+	@Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public void refreshRecentCompanyNumbers() {
+		Instant since = companyNumbersRefreshedDate;
+		if (since == null) {
+			return;
+		}
+		try {
+			Instant refreshDate = Instant.now();
+			List<String> companyNumbers = queryExecutor.query(
+					"SELECT company_number FROM filing_company_numbers WHERE created_date >= ?",
+					statement -> statement.setTimestamp(1,
+							Timestamp.from(since.minus(COMPANY_NUMBER_REFRESH_OVERLAP)), TIMEZONE_UTC),
+					resultSet -> resultSet.getString(1)
+			);
+			companyNumbers.forEach(companyNumberCache::add);
+			companyNumbersRefreshedDate = refreshDate;
+		} catch (RuntimeException e) {
+			LOG.error("Failed to refresh recent company numbers.", e);
+		}
+	}
+
+	/*
+	 * Creates next year's filings partition ahead of time so that new filings
+	 * don't accumulate in the default partition.
+	 * Filings for next year that already landed in the default partition are
+	 * moved into the new partition.
+	 */
+	@Scheduled(initialDelay = 0, fixedDelay = 1, timeUnit = TimeUnit.DAYS)
+	public void createFilingsPartitions() {
+		int nextYear = LocalDate.now(ZoneOffset.UTC).getYear() + 1;
+		try {
+			Integer movedCount = queryExecutor.write(connection -> queryExecutor.queryForObject(connection,
+					"SELECT create_filings_partition(?)",
+					statement -> statement.setInt(1, nextYear),
+					resultSet -> resultSet.getInt(1)
+			));
+			if (movedCount != null && movedCount > 0) {
+				LOG.warn("Moved {} filings for {} from the default partition into the new partition.", movedCount, nextYear);
 			}
-			return results.build();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		} catch (RuntimeException e) {
+			LOG.error("Failed to create filings partition for {}.", nextYear, e);
 		}
 	}
 
-	private ImmutableSet<String> getFilingsCompanyNumbers() {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT company_number FROM filings";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			ResultSet resultSet = statement.executeQuery();
-			ImmutableSet.Builder<String> results = ImmutableSet.builder();
-			while (resultSet.next()) {
-				results.add(resultSet.getString("company_number"));
+	/*
+	 * Returns status counts maintained by triggers, and processing statistics
+	 * from the materialized view as of its last refresh.
+	 */
+	public FilingStatistics getFilingStatistics() {
+		return queryExecutor.read(connection -> {
+			List<FilingStatistics.StatusCount> statusCounts = queryExecutor.query(connection,
+					"SELECT registry_code, status, SUM(filing_count) AS filing_count FROM filing_status_counts " +
+							"GROUP BY registry_code, status " +
+							"HAVING SUM(filing_count) <> 0 " +
+							"ORDER BY registry_code, status",
+					StatementBinder.NONE,
+					resultSet -> new FilingStatistics.StatusCount(
+							resultSet.getString("registry_code"),
+							resultSet.getString("status"),
+							resultSet.getLong("filing_count")
+					)
+			);
+			List<FilingStatistics.ProcessingStatistics> processingStatistics = queryExecutor.query(connection,
+					"SELECT * FROM filing_processing_statistics ORDER BY registry_code",
+					StatementBinder.NONE,
+					resultSet -> new FilingStatistics.ProcessingStatistics(
+							resultSet.getString("registry_code"),
+							resultSet.getLong("completed_last_hour"),
+							resultSet.getLong("completed_last_day"),
+							resultSet.getLong("completed_last_week"),
+							resultSet.getLong("failed_last_day"),
+							resultSet.getLong("failed_last_week"),
+							getPercentiles(resultSet, "download_time_percentiles"),
+							getPercentiles(resultSet, "worker_time_percentiles"),
+							getPercentiles(resultSet, "total_processing_time_percentiles")
+					)
+			);
+			Timestamp refreshedDate = queryExecutor.queryForObject(connection,
+					"SELECT MAX(refreshed_date) FROM filing_processing_statistics",
+					StatementBinder.NONE,
+					resultSet -> resultSet.getTimestamp(1)
+			);
+			return new FilingStatistics(statusCounts, processingStatistics, refreshedDate);
+		});
+	}
+
+	private FilingStatistics.Percentiles getPercentiles(ResultSet resultSet, String column) throws SQLException {
+		Array array = resultSet.getArray(column);
+		if (array == null) {
+			return new FilingStatistics.Percentiles(null, null, null);
+		}
+		Double[] values = (Double[]) array.getArray();
+		return new FilingStatistics.Percentiles(values[0], values[1], values[2]);
+	}
+
+	/*
+	 * Refreshes the processing statistics view. The view is refreshed concurrently
+	 * so that reads aren't blocked while it is recomputed, and by one instance at a time.
+	 */
+	@Scheduled(initialDelay = 1, fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+	public void refreshFilingStatistics() {
+		try (Lease lease = leaseManager.tryAcquire("refreshFilingStatistics")) {
+			if (lease == null) {
+				return;
 			}
-			return results.build();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+			queryExecutor.write(connection -> {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY filing_processing_statistics");
+				}
+				return null;
+			});
+		} catch (RuntimeException e) {
+			LOG.error("Failed to refresh filing statistics.", e);
 		}
 	}
 
 	public void createCompany(Company company) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "INSERT INTO companies " +
-					"(company_number, completed_date, company_name) " +
-					"VALUES (?, ?, ?)";
-			PreparedStatement statement = connection.prepareStatement(sql);
+		String sql = "INSERT INTO companies " +
+				"(company_number, completed_date, company_name) " +
+				"VALUES (?, ?, ?)";
+		int affectedRows = queryExecutor.update(sql, statement -> {
 			int i = 0;
 			statement.setString(++i, company.getCompanyNumber());
 			statement.setTimestamp(++i, company.getCompletedDate());
 			statement.setString(++i, company.getCompanyName());
+		});
+		if (affectedRows == 0) {
+			throw new RuntimeException(new SQLException("Creating filing failed, no rows affected."));
+		}
+	}
 
-			int affectedRows = statement.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Creating filing failed, no rows affected.");
+	/*
+	 * Streams company numbers into a temporary staging table using COPY and merges them
+	 * into the companies table, skipping company numbers that already exist.
+	 * Returns the number of companies created.
+	 */
+	public long createCompanies(Iterable<String> companyNumbers) {
+		return queryExecutor.write(connection -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TEMPORARY TABLE companies_staging " +
+						"(company_number VARCHAR(20) NOT NULL) " +
+						"ON COMMIT DROP");
+			}
+			CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+			CopyIn copyIn = copyManager.copyIn("COPY companies_staging (company_number) FROM STDIN");
+			try {
+				StringBuilder buffer = new StringBuilder();
+				for (String companyNumber : companyNumbers) {
+					appendCopyValue(buffer, companyNumber);
+					buffer.append('\n');
+					if (buffer.length() >= COPY_BUFFER_SIZE) {
+						writeToCopy(copyIn, buffer);
+					}
+				}
+				writeToCopy(copyIn, buffer);
+				copyIn.endCopy();
+			} finally {
+				if (copyIn.isActive()) {
+					copyIn.cancelCopy();
+				}
+			}
+			String sql = "INSERT INTO companies (company_number) " +
+					"SELECT DISTINCT company_number FROM companies_staging " +
+					"ON CONFLICT (company_number) DO NOTHING";
+			return (long) queryExecutor.update(connection, sql, StatementBinder.NONE);
+		});
+	}
+
+	/*
+	 * Appends a value to a COPY buffer, escaping characters that are significant
+	 * in the COPY text format.
+	 */
+	private void appendCopyValue(StringBuilder buffer, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '\\' -> buffer.append("\\\\");
+				case '\t' -> buffer.append("\\t");
+				case '\n' -> buffer.append("\\n");
+				case '\r' -> buffer.append("\\r");
+				default -> buffer.append(c);
 			}
-			connection.commit();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
 		}
 	}
 
+	private void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+		if (buffer.isEmpty()) {
+			return;
+		}
+		byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+		copyIn.writeToCopy(bytes, 0, bytes.length);
+		buffer.setLength(0);
+	}
+
 	public void updateCompany(Company company) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "UPDATE companies " +
-					"SET completed_date = COALESCE(?, completed_date), " +
-					"company_name = COALESCE(?, company_name) " +
-					"WHERE company_number = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
+		String sql = "UPDATE companies " +
+				"SET completed_date = COALESCE(?, completed_date), " +
+				"company_name = COALESCE(?, company_name) " +
+				"WHERE company_number = ?";
+		int affectedRows = queryExecutor.update(sql, statement -> {
 			int i = 0;
 			statement.setTimestamp(++i, company.getCompletedDate());
 			statement.setString(++i, company.getCompanyName());
 			statement.setString(++i, company.getCompanyNumber());
-
-			int affectedRows = statement.executeUpdate();
-			if (affectedRows == 0) {
-				throw new SQLException("Creating filing failed, no rows affected.");
-			}
-			connection.commit();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		});
+		if (affectedRows == 0) {
+			throw new RuntimeException(new SQLException("Creating filing failed, no rows affected."));
 		}
 	}
 
 	public List<Company> getIncompleteCompanies(int limit) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String sql = "SELECT * FROM companies " +
-					"WHERE completed_date IS NULL " +
-					"ORDER BY discovered_date " +
-					"LIMIT ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setInt(1, limit);
-			ResultSet resultSet = statement.executeQuery();
-			ImmutableList.Builder<Company> results = ImmutableList.builder();
-			while (resultSet.next()) {
-				results.add(Company.builder()
+		String sql = "SELECT company_number, discovered_date, completed_date, company_name FROM companies " +
+				"WHERE completed_date IS NULL " +
+				"ORDER BY discovered_date " +
+				"LIMIT ?";
+		return queryExecutor.query(sql,
+				statement -> statement.setInt(1, limit),
+				resultSet -> Company.builder()
 						.companyNumber(resultSet.getString("company_number"))
 						.discoveredDate(resultSet.getTimestamp("discovered_date"))
 						.completedDate(resultSet.getTimestamp("completed_date"))
 						.companyName(resultSet.getString("company_name"))
-						.build());
-			}
-			return results.build();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+						.build()
+		);
 	}
 
 	private LocalDateTime getLocalDateTime(Timestamp timestamp) {
@@ -476,33 +1044,52 @@ public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 		return new Timestamp(localDateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
 	}
 
-	public List<Filing> getFilings(ResultSet resultSet) throws SQLException {
-		ImmutableList.Builder<Filing> results = ImmutableList.builder();
-		while (resultSet.next()) {
-			results.add(Filing.builder()
-					.filingId(resultSet.getString("filing_id"))
-					.discoveredDate(resultSet.getTimestamp("discovered_date"))
-					.status(resultSet.getString("status"))
-					.registryCode(resultSet.getString("registry_code"))
-					.downloadUrl(resultSet.getString("download_url"))
-					.companyNumber(resultSet.getString("company_number"))
-					.companyName(resultSet.getString("company_name"))
-					.externalFilingId(resultSet.getString("external_filing_id"))
-					.externalViewUrl(resultSet.getString("external_view_url"))
-					.filename(resultSet.getString("filename"))
-					.filingType(resultSet.getString("filing_type"))
-					.filingDate(getLocalDateTime(
-							resultSet.getTimestamp("filing_date", TIMEZONE_UTC)
-					))
-					.documentDate(getLocalDateTime(
-							resultSet.getTimestamp("document_date", TIMEZONE_UTC)
-					))
-					.streamTimepoint(resultSet.getLong("stream_timepoint"))
-					.oimDirectory(resultSet.getString("oim_directory"))
-					.stubViewerUrl(resultSet.getString("stub_viewer_url"))
-					.build());
-		}
-		return results.build();
+	private Filing mapFiling(ResultSet resultSet) throws SQLException {
+		return Filing.builder()
+				.filingId(resultSet.getString("filing_id"))
+				.discoveredDate(resultSet.getTimestamp("discovered_date"))
+				.status(resultSet.getString("status"))
+				.registryCode(resultSet.getString("registry_code"))
+				.downloadUrl(resultSet.getString("download_url"))
+				.companyNumber(resultSet.getString("company_number"))
+				.companyName(resultSet.getString("company_name"))
+				.externalFilingId(resultSet.getString("external_filing_id"))
+				.externalViewUrl(resultSet.getString("external_view_url"))
+				.filename(resultSet.getString("filename"))
+				.filingType(resultSet.getString("filing_type"))
+				.filingDate(getLocalDateTime(
+						resultSet.getTimestamp("filing_date", TIMEZONE_UTC)
+				))
+				.documentDate(getLocalDateTime(
+						resultSet.getTimestamp("document_date", TIMEZONE_UTC)
+				))
+				.streamTimepoint(resultSet.getLong("stream_timepoint"))
+				.oimDirectory(resultSet.getString("oim_directory"))
+				.stubViewerUrl(resultSet.getString("stub_viewer_url"))
+				.build();
+	}
+
+	/*
+	 * Maps the current row selected with FILING_SUMMARY_COLUMNS.
+	 * Columns are read by index, any additional trailing columns are ignored.
+	 */
+	private FilingSummary mapFilingSummary(ResultSet resultSet) throws SQLException {
+		int i = 0;
+		return FilingSummary.builder()
+				.filingId(resultSet.getString(++i))
+				.discoveredDate(resultSet.getTimestamp(++i))
+				.status(resultSet.getString(++i))
+				.registryCode(resultSet.getString(++i))
+				.downloadUrl(resultSet.getString(++i))
+				.companyName(resultSet.getString(++i))
+				.companyNumber(resultSet.getString(++i))
+				.externalFilingId(resultSet.getString(++i))
+				.externalViewUrl(resultSet.getString(++i))
+				.filingDate(getLocalDateTime(resultSet.getTimestamp(++i, TIMEZONE_UTC)))
+				.documentDate(getLocalDateTime(resultSet.getTimestamp(++i, TIMEZONE_UTC)))
+				.stubViewerUrl(resultSet.getString(++i))
+				.oimDirectory(resultSet.getString(++i))
+				.build();
 	}
 
 	public void migrate() {
@@ -529,21 +1116,21 @@ public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 	}
 
 	public void resetFiling(UUID filingId) {
-		try (Connection connection = getInitializedConnection(false)) {
-			String sql = "UPDATE filings SET " +
-					"status = 'pending', error = NULL, logs = NULL, " +
-					"stub_viewer_url = NULL, oim_directory = NULL " +
-					"WHERE filing_id = ?";
-			PreparedStatement statement = connection.prepareStatement(sql);
-			statement.setObject(1, filingId);
-			int affectedRows = statement.executeUpdate();
+		String sql = "UPDATE filings SET " +
+				"status = 'pending', " +
+				"stub_viewer_url = NULL, oim_directory = NULL " +
+				"WHERE filing_id = ?";
+		String resultSql = "DELETE FROM filing_results WHERE filing_id = ?";
+		queryExecutor.write(connection -> {
+			int affectedRows = queryExecutor.update(connection, sql, statement -> statement.setObject(1, filingId));
 			if (affectedRows == 0) {
 				throw new SQLException("Resetting filing failed, no rows affected.");
 			}
-			connection.commit();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+			queryExecutor.update(connection, resultSql, statement -> statement.setObject(1, filingId));
+			return null;
+		});
+		replicaRouter.recordWrite(filingId);
+		searchResultCache.invalidateFiling(filingId);
 	}
 
 	public boolean companyNumberExists(String companyNumber) {
@@ -558,131 +1145,188 @@ public class DatabaseManagerImpl implements AutoCloseable, DatabaseManager {
 			// Contains a space or does not contain a numeric digit
 			return false;
 		}
-		if (!companyNumberCacheInitialized) {
-			// No cached set of known company numbers, populate it
-			companyNumberCache.addAll(getFilingsCompanyNumbers());
-			companyNumberCacheInitialized = true;
-		}
-		if (companyNumberCache.contains(companyNumber)) {
-			// Cached set of known company numbers contains the company number
-			return true;
-		}
-		// Could be a company number that is not in the cache, check the database
-		// and add it to the cache if it exists.
-		String sql = "SELECT EXISTS (SELECT 1 FROM filings WHERE company_number = ?);";
-		try (Connection connection = getInitializedConnection(true)) {
-			try (PreparedStatement statement = connection.prepareStatement(sql)) {
-				statement.setString(1, companyNumber);
-				try (ResultSet resultSet = statement.executeQuery()) {
-					if (resultSet.next()) {
-						if (resultSet.getBoolean(1)) {
-							companyNumberCache.add(companyNumber);
-							return true;
-						}
-					}
-				}
-			}
-		} catch (SQLException e) {
+		try {
+			return companyNumberCache.contains(companyNumber);
+		} catch (RuntimeException e) {
 			LOG.error("Error checking if company number exists: {}", companyNumber, e);
 			return false;
 		}
-		return false;
 	}
 
-	public List<Filing> searchFilings(SearchFilingsRequest searchFilingsRequest) {
-		try (Connection connection = getInitializedConnection(true)) {
-			String searchText = searchFilingsRequest.getSearchText();
-			String companyName = null;
-			String companyNumber = null;
-			if (companyNumberExists(searchText)) {
-				companyNumber = searchText;
-			} else {
-				companyName = searchText;
-			}
+	private boolean loadCompanyNumberExists(String companyNumber) {
+		String sql = "SELECT EXISTS (SELECT 1 FROM filings WHERE company_number = ?)";
+		Boolean exists = queryExecutor.queryForObject(sql,
+				statement -> statement.setString(1, companyNumber),
+				resultSet -> resultSet.getBoolean(1)
+		);
+		return Boolean.TRUE.equals(exists);
+	}
 
-			List<String> selects = new ArrayList<>();
-			List<String> queries = new ArrayList<>();
-			List<String> conditions = new ArrayList<>();
-			List<Object> parameters = new ArrayList<>();
-			List<String> orderBys = new ArrayList<>() {
-				{
-					add("filing_date DESC");
-					add("filing_id");
-				}
-			};
-			if (!StringUtils.isEmpty(companyName)) {
-				selects.add("ts_rank(to_tsvector('english', company_name), query) as rank");
-				queries.add("websearch_to_tsquery('english', ?) query");
-				conditions.add("to_tsvector('english', company_name) @@ query");
-				parameters.add(companyName);
-				orderBys.add(0, "rank DESC");
-			}
-			if (!StringUtils.isEmpty(companyNumber)) {
-				conditions.add("company_number = ?");
-				parameters.add(companyNumber);
-			}
-			if (searchFilingsRequest.getMinDocumentDate() != null) {
-				conditions.add("document_date >= ?");
-				parameters.add(searchFilingsRequest.getMinDocumentDate());
-			}
-			if (searchFilingsRequest.getMinFilingDate() != null) {
-				conditions.add("filing_date >= ?");
-				parameters.add(searchFilingsRequest.getMinFilingDate());
-			}
-			if (searchFilingsRequest.getMaxDocumentDate() != null) {
-				conditions.add("document_date <= ?");
-				parameters.add(searchFilingsRequest.getMaxDocumentDate());
-			}
-			if (searchFilingsRequest.getMaxFilingDate() != null) {
-				conditions.add("filing_date <= ?");
-				parameters.add(searchFilingsRequest.getMaxFilingDate());
-			}
-			if (!StringUtils.isEmpty(searchFilingsRequest.getStatus())) {
-				conditions.add("status = ?");
-				parameters.add(searchFilingsRequest.getStatus());
-			}
-			if (!StringUtils.isEmpty(searchFilingsRequest.getRegistryCode())) {
-				conditions.add("registry_code = ?");
-				parameters.add(searchFilingsRequest.getRegistryCode());
-			}
-			StringBuilder sqlBuilder = new StringBuilder("SELECT * ");
-			if (selects.size() > 0) {
-				sqlBuilder.append(", ");
-				sqlBuilder.append(String.join(", ", selects));
-			}
-			sqlBuilder.append(" FROM filings ");
-			if (queries.size() > 0) {
-				sqlBuilder.append(", ");
-				sqlBuilder.append(String.join(", ", queries));
-			}
-			if (conditions.size() > 0) {
-				sqlBuilder.append(" WHERE ");
-				sqlBuilder.append(String.join(" AND ", conditions));
+	/*
+	 * Returns a page of filings matching the search request, starting after the request's cursor.
+	 * Results are ordered by rank (for company name searches), filing date and filing ID,
+	 * and each page seeks past the previous one rather than re-reading it.
+	 * Results are cached until a write that may affect them.
+	 */
+	public SearchFilingsResult searchFilings(SearchFilingsRequest searchFilingsRequest) {
+		SearchCacheKey key = SearchCacheKey.of(searchFilingsRequest);
+		return searchResultCache.get(key, () -> loadSearchFilings(key));
+	}
+
+	public String getSearchCacheStatus() {
+		return searchResultCache.getStatus();
+	}
+
+	private SearchFilingsResult loadSearchFilings(SearchCacheKey key) {
+		String searchText = key.searchText();
+		String companyName = null;
+		String companyNumber = null;
+		if (companyNumberExists(searchText)) {
+			companyNumber = searchText;
+		} else {
+			companyName = searchText;
+		}
+
+		List<String> selects = new ArrayList<>();
+		List<String> queries = new ArrayList<>();
+		List<String> conditions = new ArrayList<>();
+		List<Object> parameters = new ArrayList<>();
+		List<String> orderBys = new ArrayList<>() {
+			{
+				add("filing_date DESC");
+				add("filing_id");
 			}
-			sqlBuilder.append(" ORDER BY ");
-			sqlBuilder.append(String.join(", ", orderBys));
-			sqlBuilder.append(" LIMIT ?;");
-			parameters.add(Math.max(1, searchFilingsRequest.getLimit()));
-			String sql = sqlBuilder.toString();
-			PreparedStatement statement = connection.prepareStatement(sql);
-			for (int i = 0; i < parameters.size(); i++) {
-				statement.setObject(i + 1, parameters.get(i));
+		};
+		boolean ranked = !StringUtils.isEmpty(companyName);
+		if (ranked) {
+			// Full-text matches rank first, word similarity orders fuzzy matches and breaks ties.
+			selects.add("ts_rank(company_name_tsv, query) + word_similarity(?, company_name) as rank");
+			parameters.add(companyName);
+			queries.add("websearch_to_tsquery('english', ?) query");
+			parameters.add(companyName);
+			if (companyName.length() >= MIN_TRIGRAM_SEARCH_LENGTH) {
+				conditions.add("(company_name_tsv @@ query OR company_name ILIKE ? OR company_name %> ?)");
+				parameters.add("%" + escapeLikePattern(companyName) + "%");
+				parameters.add(companyName);
+			} else {
+				conditions.add("company_name_tsv @@ query");
 			}
-			ResultSet resultSet = statement.executeQuery();
-			return getFilings(resultSet);
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+			orderBys.add(0, "rank DESC");
+		}
+		if (!StringUtils.isEmpty(companyNumber)) {
+			conditions.add("company_number = ?");
+			parameters.add(companyNumber);
+		}
+		if (key.minDocumentDate() != null) {
+			conditions.add("document_date >= ?");
+			parameters.add(key.minDocumentDate());
+		}
+		if (key.minFilingDate() != null) {
+			conditions.add("filing_date >= ?");
+			parameters.add(key.minFilingDate());
+		}
+		if (key.maxDocumentDate() != null) {
+			conditions.add("document_date <= ?");
+			parameters.add(key.maxDocumentDate());
+		}
+		if (key.maxFilingDate() != null) {
+			conditions.add("filing_date <= ?");
+			parameters.add(key.maxFilingDate());
+		}
+		if (!StringUtils.isEmpty(key.status())) {
+			conditions.add("status = ?");
+			parameters.add(key.status());
+		}
+		if (!StringUtils.isEmpty(key.registryCode())) {
+			conditions.add("registry_code = ?");
+			parameters.add(key.registryCode());
+		}
+		StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM (SELECT " + FILING_SUMMARY_COLUMNS + " ");
+		if (selects.size() > 0) {
+			sqlBuilder.append(", ");
+			sqlBuilder.append(String.join(", ", selects));
+		}
+		sqlBuilder.append(" FROM filings ");
+		if (queries.size() > 0) {
+			sqlBuilder.append(", ");
+			sqlBuilder.append(String.join(", ", queries));
+		}
+		if (conditions.size() > 0) {
+			sqlBuilder.append(" WHERE ");
+			sqlBuilder.append(String.join(" AND ", conditions));
+		}
+		sqlBuilder.append(") results");
+		SearchCursor cursor = SearchCursor.decode(key.cursor());
+		if (cursor != null) {
+			sqlBuilder.append(" WHERE ");
+			sqlBuilder.append(getSearchCursorCondition(cursor, ranked, parameters));
+		}
+		sqlBuilder.append(" ORDER BY ");
+		sqlBuilder.append(String.join(", ", orderBys));
+		sqlBuilder.append(" LIMIT ?;");
+		// Fetch one additional row to determine whether another page exists.
+		int limit = (int) key.limit();
+		parameters.add(limit + 1);
+		String sql = sqlBuilder.toString();
+		int nextOffset = (cursor == null ? 0 : cursor.offset()) + limit;
+		List<SearchCursor> cursors = new ArrayList<>();
+		List<FilingSummary> filings = queryExecutor.query(sql, QueryExecutor.parameters(parameters), resultSet -> {
+			FilingSummary filing = mapFilingSummary(resultSet);
+			cursors.add(new SearchCursor(
+					ranked ? resultSet.getFloat("rank") : null,
+					filing.getFilingDate(),
+					filing.getFilingId(),
+					nextOffset
+			));
+			return filing;
+		});
+		if (filings.size() <= limit) {
+			return new SearchFilingsResult(filings, null);
+		}
+		return new SearchFilingsResult(filings.subList(0, limit), cursors.get(limit - 1));
+	}
+
+	/*
+	 * Escapes LIKE wildcards so that the value is matched literally.
+	 */
+	private static String escapeLikePattern(String value) {
+		return value.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+	}
+
+	/*
+	 * Builds a condition selecting rows ordered after the cursor.
+	 * Filing dates are ordered descending with nulls first, matching PostgreSQL's default.
+	 */
+	private String getSearchCursorCondition(SearchCursor cursor, boolean ranked, List<Object> parameters) {
+		String condition;
+		List<Object> conditionParameters = new ArrayList<>();
+		if (cursor.filingDate() == null) {
+			condition = "(filing_date IS NULL AND filing_id > ?) OR filing_date IS NOT NULL";
+		} else {
+			condition = "filing_date < ? OR (filing_date = ? AND filing_id > ?)";
+			conditionParameters.add(cursor.filingDate());
+			conditionParameters.add(cursor.filingDate());
+		}
+		conditionParameters.add(cursor.filingId());
+		if (ranked && cursor.rank() != null) {
+			condition = "rank < ? OR (rank = ? AND (" + condition + "))";
+			conditionParameters.add(0, cursor.rank());
+			conditionParameters.add(0, cursor.rank());
 		}
+		parameters.addAll(conditionParameters);
+		return "(" + condition + ")";
 	}
 
 	public boolean isHealthy() {
-		try (Connection connection = getInitializedConnection(true)) {
-			boolean isValid = connection.isValid(properties.dbHealthCheckTimeout());
+		try {
+			boolean isValid = queryExecutor.read(connection -> connection.isValid(properties.dbHealthCheckTimeout()));
 			if (!isValid) {
 				LOG.error("Database health check failed");
 			}
 			return isValid;
-		} catch (SQLException e) {
+		} catch (RuntimeException e) {
 			LOG.error("Database health check failed", e);
 			return false;
 		}
@@ -0,0 +1,132 @@
+package com.frc.codex.database.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * In-process metrics for the database layer: connection pools, DatabaseManager
+ * operations and individual statements grouped by SQL shape.
+ * Statements slower than the configured threshold are logged.
+ */
+public class DatabaseMetrics {
+	private static final Logger LOG = LoggerFactory.getLogger(DatabaseMetrics.class);
+	private static final String OPERATION_TIMER = "codex.db.operation";
+	private static final String QUERY_TIMER = "codex.db.query";
+	private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+	private static final Pattern PARAMETER_LIST_PATTERN = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+	private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+	private final MeterRegistry registry;
+	private final long slowQueryThresholdNanos;
+
+	public DatabaseMetrics(long slowQueryThresholdMillis) {
+		this.registry = new SimpleMeterRegistry();
+		this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+	}
+
+	public MeterRegistry getRegistry() {
+		return registry;
+	}
+
+	public <T> T time(String operation, Supplier<T> supplier) {
+		return getTimer(OPERATION_TIMER, "operation", operation).record(supplier);
+	}
+
+	public void time(String operation, Runnable runnable) {
+		getTimer(OPERATION_TIMER, "operation", operation).record(runnable);
+	}
+
+	/*
+	 * Records a statement's execution time, logging it if it was slow.
+	 */
+	public void recordQuery(String sql, long elapsedNanos) {
+		String shape = getShape(sql);
+		getTimer(QUERY_TIMER, "sql", shape).record(elapsedNanos, TimeUnit.NANOSECONDS);
+		if (elapsedNanos >= slowQueryThresholdNanos) {
+			LOG.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shape);
+		}
+	}
+
+	/*
+	 * Returns a plain text report of all meters, grouped by name.
+	 */
+	public String getReport() {
+		List<String> lines = new ArrayList<>();
+		List<Meter> meters = registry.getMeters().stream()
+				.sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+						.thenComparing(meter -> meter.getId().getTags().toString()))
+				.toList();
+		for (Meter meter : meters) {
+			String tags = meter.getId().getTags().stream()
+					.map(Tag::getValue)
+					.collect(Collectors.joining(", "));
+			lines.add(meter.getId().getName() + (tags.isEmpty() ? "" : " [" + tags + "]"));
+			lines.add("\t" + describe(meter));
+		}
+		return String.join("\n", lines);
+	}
+
+	private String describe(Meter meter) {
+		if (meter instanceof Timer timer) {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			StringBuilder description = new StringBuilder(String.format(
+					"count=%d mean=%.2fms max=%.2fms",
+					snapshot.count(),
+					snapshot.mean(TimeUnit.MILLISECONDS),
+					snapshot.max(TimeUnit.MILLISECONDS)
+			));
+			for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+				description.append(String.format(" p%.0f=%.2fms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+			}
+			return description.toString();
+		}
+		if (meter instanceof Gauge gauge) {
+			return String.format("value=%.0f", gauge.value());
+		}
+		if (meter instanceof Counter counter) {
+			return String.format("count=%.0f", counter.count());
+		}
+		if (meter instanceof FunctionCounter counter) {
+			return String.format("count=%.0f", counter.count());
+		}
+		List<String> measurements = new ArrayList<>();
+		meter.measure().forEach(measurement -> measurements.add(
+				measurement.getStatistic().getTagValueRepresentation() + "=" + measurement.getValue()
+		));
+		return String.join(" ", measurements);
+	}
+
+	private Timer getTimer(String name, String tagKey, String tagValue) {
+		return Timer.builder(name)
+				.tag(tagKey, tagValue)
+				.publishPercentiles(PERCENTILES)
+				.register(registry);
+	}
+
+	/*
+	 * Collapses whitespace and parameter lists so that statements differing only
+	 * in the number of bound values share a shape.
+	 */
+	static String getShape(String sql) {
+		String shape = WHITESPACE_PATTERN.matcher(sql.trim()).replaceAll(" ");
+		return PARAMETER_LIST_PATTERN.matcher(shape).replaceAll("(?, ...)");
+	}
+}
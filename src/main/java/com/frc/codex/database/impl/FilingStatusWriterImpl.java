@@ -0,0 +1,156 @@
+package com.frc.codex.database.impl;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.frc.codex.database.DatabaseManager;
+import com.frc.codex.database.FilingStatusWriter;
+import com.frc.codex.model.FilingStatusUpdate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Buffers filing status updates and writes them in batches, so that callers
+ * don't wait on a commit per filing. Only the latest status for a filing is kept.
+ * Buffered updates are flushed when the buffer is full, on shutdown, and on the
+ * writer's own thread one second after the previous scheduled flush finished.
+ * The thread isn't shared with the task scheduler, so long-running indexer jobs
+ * can't delay scheduled flushes, but a slow or retried flush delays the next one.
+ * Updates that fail to write are kept for the next flush.
+ * Updates are only used to return queued filings to pending, so updates lost
+ * on shutdown or in a crash are recovered by the stale queued filing sweep.
+ * Writes are rejected once the writer is closed.
+ */
+@Component
+@Profile("application")
+public class FilingStatusWriterImpl implements FilingStatusWriter {
+	private static final Logger LOG = LoggerFactory.getLogger(FilingStatusWriterImpl.class);
+	private static final int MAX_BUFFERED_UPDATES = 500;
+	private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+	private static final long FLUSH_INTERVAL_SECONDS = 1;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+	private final DatabaseManager databaseManager;
+	private final ScheduledExecutorService flushExecutor;
+	private final Object flushLock;
+	private Map<UUID, FilingStatusUpdate> buffer;
+	private boolean closed;
+	private long flushedCount;
+	private Date lastFlushDate;
+
+	public FilingStatusWriterImpl(DatabaseManager databaseManager) {
+		this.databaseManager = databaseManager;
+		this.flushExecutor = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("filing-status-writer").daemon().factory()
+		);
+		this.flushLock = new Object();
+		this.buffer = new LinkedHashMap<>();
+	}
+
+	public void write(UUID filingId, LocalDateTime filingDate, String status) {
+		boolean full;
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Filing status writer is closed.");
+			}
+			buffer.put(filingId, new FilingStatusUpdate(filingId, filingDate, status));
+			full = buffer.size() >= MAX_BUFFERED_UPDATES;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	public void flush() {
+		// Flushes are serialized so that a retried batch can't overwrite a newer one.
+		synchronized (flushLock) {
+			Map<UUID, FilingStatusUpdate> batch;
+			synchronized (this) {
+				if (buffer.isEmpty()) {
+					return;
+				}
+				batch = buffer;
+				buffer = new LinkedHashMap<>();
+			}
+			try {
+				databaseManager.updateFilingStatuses(List.copyOf(batch.values()));
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					// Updates buffered since the batch was taken are newer, so they take precedence.
+					batch.putAll(buffer);
+					buffer = batch;
+				}
+				throw e;
+			}
+			synchronized (this) {
+				flushedCount += batch.size();
+				lastFlushDate = new Date();
+			}
+			LOG.debug("Flushed filing status updates: {}", batch.size());
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		flushExecutor.scheduleWithFixedDelay(this::scheduledFlush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	private void scheduledFlush() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOG.error("Failed to flush filing status updates, retrying later.", e);
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		flushExecutor.shutdown();
+		try {
+			if (!flushExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				LOG.warn("Timed out waiting for the scheduled filing status flush to finish.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS; attempt++) {
+			try {
+				flush();
+				return;
+			} catch (RuntimeException e) {
+				LOG.error("Failed to flush filing status updates on shutdown (attempt {}).", attempt, e);
+			}
+		}
+		synchronized (this) {
+			LOG.error("Discarding filing status updates, the filings will be returned to pending " +
+					"once they are stale: {}", buffer.values());
+		}
+	}
+
+	public synchronized String getStatus() {
+		return String.format("""
+						Filing status writer:
+						\tBuffered updates: %s
+						\tFlushed updates: %s
+						\tLast flush: %s""",
+				buffer.size(),
+				flushedCount,
+				lastFlushDate
+		);
+	}
+}
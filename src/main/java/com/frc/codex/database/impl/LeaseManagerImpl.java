@@ -0,0 +1,212 @@
+package com.frc.codex.database.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.frc.codex.database.Lease;
+import com.frc.codex.database.LeaseManager;
+import com.frc.codex.properties.FilingIndexProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Leases backed by Postgres session-level advisory locks.
+ * Each held lease keeps a dedicated connection open, so the lock is released
+ * by the server if this instance dies or loses its connection.
+ */
+@Component
+@Profile("application")
+public class LeaseManagerImpl implements LeaseManager {
+	private static final Logger LOG = LoggerFactory.getLogger(LeaseManagerImpl.class);
+	// First key of the two-key advisory lock form, distinguishing leases from other advisory locks.
+	private static final int LEASE_NAMESPACE = 0x46524343;
+	private static final int MAX_LEASES = 8;
+	private static final long VALIDATION_INTERVAL_MILLIS = 30 * 1000;
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+	private final HikariDataSource dataSource;
+	private final Map<String, LeaseState> states;
+
+	public LeaseManagerImpl(FilingIndexProperties properties) {
+		HikariConfig config = properties.getDatabaseConfig("lease");
+		// Locks are held across idle periods, which must not leave a transaction open.
+		config.setAutoCommit(true);
+		config.setMaximumPoolSize(MAX_LEASES);
+		config.setMinimumIdle(0);
+		this.dataSource = new HikariDataSource(config);
+		this.states = new ConcurrentSkipListMap<>();
+	}
+
+	@PreDestroy
+	public void close() {
+		dataSource.close();
+	}
+
+	public Lease tryAcquire(String name) {
+		LeaseState state = states.computeIfAbsent(name, LeaseState::new);
+		state.lastAttemptDate = new Date();
+		Connection connection = null;
+		try {
+			connection = dataSource.getConnection();
+			boolean acquired;
+			try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+				statement.setInt(1, LEASE_NAMESPACE);
+				statement.setInt(2, getKey(name));
+				try (ResultSet resultSet = statement.executeQuery()) {
+					acquired = resultSet.next() && resultSet.getBoolean(1);
+				}
+			}
+			if (!acquired) {
+				LOG.debug("Lease is held by another instance: {}", name);
+				connection.close();
+				return null;
+			}
+			LOG.info("Acquired lease: {}", name);
+			state.acquiredDate = new Date();
+			return new AdvisoryLease(state, connection);
+		} catch (SQLException e) {
+			LOG.error("Failed to acquire lease: {}", name, e);
+			if (connection != null) {
+				dataSource.evictConnection(connection);
+			}
+			return null;
+		}
+	}
+
+	public String getStatus() {
+		Set<Long> heldKeys;
+		try {
+			heldKeys = getHeldKeys();
+		} catch (SQLException e) {
+			LOG.error("Failed to retrieve held leases.", e);
+			heldKeys = null;
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add("Leases:");
+		for (LeaseState state : states.values()) {
+			String ownership;
+			if (state.acquiredDate != null) {
+				ownership = "Held by this instance since " + state.acquiredDate;
+			} else if (heldKeys == null) {
+				ownership = "Not held by this instance";
+			} else if (heldKeys.contains(Integer.toUnsignedLong(getKey(state.name)))) {
+				ownership = "Held by another instance";
+			} else {
+				ownership = "Not held";
+			}
+			lines.add(String.format("\t%s: %s (last attempt: %s)", state.name, ownership, state.lastAttemptDate));
+		}
+		return String.join("\n", lines);
+	}
+
+	private Set<Long> getHeldKeys() throws SQLException {
+		String sql = "SELECT objid::bigint FROM pg_locks " +
+				"WHERE locktype = 'advisory' AND classid::bigint = ? AND objsubid = 2 AND granted";
+		Set<Long> keys = new HashSet<>();
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, LEASE_NAMESPACE);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					keys.add(resultSet.getLong(1));
+				}
+			}
+		}
+		return keys;
+	}
+
+	private static int getKey(String name) {
+		return name.hashCode();
+	}
+
+	private static class LeaseState {
+		private final String name;
+		private volatile Date acquiredDate;
+		private volatile Date lastAttemptDate;
+
+		private LeaseState(String name) {
+			this.name = name;
+		}
+	}
+
+	private class AdvisoryLease implements Lease {
+		private final LeaseState state;
+		private final Connection connection;
+		private boolean closed;
+		private boolean held;
+		private long lastValidatedMillis;
+
+		private AdvisoryLease(LeaseState state, Connection connection) {
+			this.state = state;
+			this.connection = connection;
+			this.closed = false;
+			this.held = true;
+			this.lastValidatedMillis = System.currentTimeMillis();
+		}
+
+		public String getName() {
+			return state.name;
+		}
+
+		public synchronized boolean isHeld() {
+			if (!held) {
+				return false;
+			}
+			long now = System.currentTimeMillis();
+			if (now - lastValidatedMillis < VALIDATION_INTERVAL_MILLIS) {
+				return true;
+			}
+			lastValidatedMillis = now;
+			try {
+				held = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+			} catch (SQLException e) {
+				held = false;
+			}
+			if (!held) {
+				LOG.warn("Lost lease: {}", state.name);
+				state.acquiredDate = null;
+			}
+			return held;
+		}
+
+		public synchronized void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			state.acquiredDate = null;
+			if (!held) {
+				// The session has already ended, discard the connection.
+				dataSource.evictConnection(connection);
+				return;
+			}
+			held = false;
+			try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+				statement.setInt(1, LEASE_NAMESPACE);
+				statement.setInt(2, getKey(state.name));
+				statement.execute();
+				connection.close();
+				LOG.info("Released lease: {}", state.name);
+			} catch (SQLException e) {
+				// Closing the physical connection releases the lock server-side.
+				LOG.warn("Failed to release lease, evicting connection: {}", state.name, e);
+				dataSource.evictConnection(connection);
+			}
+		}
+	}
+}
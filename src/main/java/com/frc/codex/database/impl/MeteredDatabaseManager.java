@@ -0,0 +1,180 @@
+package com.frc.codex.database.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.frc.codex.database.DatabaseManager;
+import com.frc.codex.model.Company;
+import com.frc.codex.model.CompanyNumberSet;
+import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingResult;
+import com.frc.codex.model.FilingResultRequest;
+import com.frc.codex.model.FilingStatistics;
+import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingStatusUpdate;
+import com.frc.codex.model.FilingSummary;
+import com.frc.codex.model.NewFilingRequest;
+import com.frc.codex.model.RegistryCode;
+import com.frc.codex.model.SearchFilingsRequest;
+import com.frc.codex.model.SearchFilingsResult;
+import com.frc.codex.model.companieshouse.CompaniesHouseArchive;
+
+/*
+ * Records the duration of each DatabaseManager operation, including time spent
+ * waiting for a connection and in caches, before delegating to DatabaseManagerImpl.
+ * Streams are timed until they are returned, their pages are timed per statement.
+ */
+@Component
+@Profile("application")
+@Primary
+public class MeteredDatabaseManager implements DatabaseManager {
+	private final DatabaseManagerImpl delegate;
+	private final DatabaseMetrics metrics;
+
+	public MeteredDatabaseManager(DatabaseManagerImpl delegate) {
+		this.delegate = delegate;
+		this.metrics = delegate.getMetrics();
+	}
+
+	public void applyFilingResult(FilingResultRequest filingResultRequest) {
+		metrics.time("applyFilingResult", () -> delegate.applyFilingResult(filingResultRequest));
+	}
+
+	public List<Boolean> applyFilingResults(List<FilingResultRequest> filingResultRequests) {
+		return metrics.time("applyFilingResults", () -> delegate.applyFilingResults(filingResultRequests));
+	}
+
+	public List<FilingSummary> claimPendingFilings(int limit, RegistryCode registryCode) {
+		return metrics.time("claimPendingFilings", () -> delegate.claimPendingFilings(limit, registryCode));
+	}
+
+	public boolean checkCompaniesLimit(int companiesLimit) {
+		return metrics.time("checkCompaniesLimit", () -> delegate.checkCompaniesLimit(companiesLimit));
+	}
+
+	public boolean checkRegistryLimit(RegistryCode registryCode, int limit) {
+		return metrics.time("checkRegistryLimit", () -> delegate.checkRegistryLimit(registryCode, limit));
+	}
+
+	public boolean companiesHouseArchiveExists(String filename) {
+		return metrics.time("companiesHouseArchiveExists", () -> delegate.companiesHouseArchiveExists(filename));
+	}
+
+	public boolean companyNumberExists(String companyNumber) {
+		return metrics.time("companyNumberExists", () -> delegate.companyNumberExists(companyNumber));
+	}
+
+	public String createCompaniesHouseArchive(CompaniesHouseArchive archive) {
+		return metrics.time("createCompaniesHouseArchive", () -> delegate.createCompaniesHouseArchive(archive));
+	}
+
+	public UUID createFiling(NewFilingRequest newFilingRequest) {
+		return metrics.time("createFiling", () -> delegate.createFiling(newFilingRequest));
+	}
+
+	public List<UUID> createFilings(List<NewFilingRequest> newFilingRequests) {
+		return metrics.time("createFilings", () -> delegate.createFilings(newFilingRequests));
+	}
+
+	public boolean filingExists(String registryCode, String externalFilingId) {
+		return metrics.time("filingExists", () -> delegate.filingExists(registryCode, externalFilingId));
+	}
+
+	public Filing getFiling(UUID filingId) {
+		return metrics.time("getFiling", () -> delegate.getFiling(filingId));
+	}
+
+	public FilingSummary getFilingSummary(UUID filingId) {
+		return metrics.time("getFilingSummary", () -> delegate.getFilingSummary(filingId));
+	}
+
+	public FilingResult getFilingResult(UUID filingId) {
+		return metrics.time("getFilingResult", () -> delegate.getFilingResult(filingId));
+	}
+
+	public FilingStatistics getFilingStatistics() {
+		return metrics.time("getFilingStatistics", delegate::getFilingStatistics);
+	}
+
+	public List<FilingSummary> getFilingsByStatus(FilingStatus status, RegistryCode registryCode, int limit) {
+		return metrics.time("getFilingsByStatus", () -> delegate.getFilingsByStatus(status, registryCode, limit));
+	}
+
+	public LocalDateTime getLatestFcaFilingDate(LocalDateTime defaultDate) {
+		return metrics.time("getLatestFcaFilingDate", () -> delegate.getLatestFcaFilingDate(defaultDate));
+	}
+
+	public Long getLatestStreamTimepoint(Long defaultTimepoint) {
+		return metrics.time("getLatestStreamTimepoint", () -> delegate.getLatestStreamTimepoint(defaultTimepoint));
+	}
+
+	public long getRegistryCount(RegistryCode registryCode) {
+		return metrics.time("getRegistryCount", () -> delegate.getRegistryCount(registryCode));
+	}
+
+	public Long getStreamCheckpoint(String streamName) {
+		return metrics.time("getStreamCheckpoint", () -> delegate.getStreamCheckpoint(streamName));
+	}
+
+	public void updateStreamCheckpoint(String streamName, long timepoint) {
+		metrics.time("updateStreamCheckpoint", () -> delegate.updateStreamCheckpoint(streamName, timepoint));
+	}
+
+	public void resetFiling(UUID filingId) {
+		metrics.time("resetFiling", () -> delegate.resetFiling(filingId));
+	}
+
+	public int resetStaleQueuedFilings(Duration timeout) {
+		return metrics.time("resetStaleQueuedFilings", () -> delegate.resetStaleQueuedFilings(timeout));
+	}
+
+	public SearchFilingsResult searchFilings(SearchFilingsRequest searchFilingsRequest) {
+		return metrics.time("searchFilings", () -> delegate.searchFilings(searchFilingsRequest));
+	}
+
+	public String getSearchCacheStatus() {
+		return delegate.getSearchCacheStatus();
+	}
+
+	public String getMetricsReport() {
+		return delegate.getMetricsReport();
+	}
+
+	public void updateFilingStatus(UUID filingId, LocalDateTime filingDate, String status) {
+		metrics.time("updateFilingStatus", () -> delegate.updateFilingStatus(filingId, filingDate, status));
+	}
+
+	public int updateFilingStatuses(List<FilingStatusUpdate> updates) {
+		return metrics.time("updateFilingStatuses", () -> delegate.updateFilingStatuses(updates));
+	}
+
+	public CompanyNumberSet getCompaniesCompanyNumbers() {
+		return metrics.time("getCompaniesCompanyNumbers", delegate::getCompaniesCompanyNumbers);
+	}
+
+	public void createCompany(Company company) {
+		metrics.time("createCompany", () -> delegate.createCompany(company));
+	}
+
+	public long createCompanies(Iterable<String> companyNumbers) {
+		return metrics.time("createCompanies", () -> delegate.createCompanies(companyNumbers));
+	}
+
+	public void updateCompany(Company company) {
+		metrics.time("updateCompany", () -> delegate.updateCompany(company));
+	}
+
+	public List<Company> getIncompleteCompanies(int limit) {
+		return metrics.time("getIncompleteCompanies", () -> delegate.getIncompleteCompanies(limit));
+	}
+
+	public boolean isHealthy() {
+		return metrics.time("isHealthy", delegate::isHealthy);
+	}
+}
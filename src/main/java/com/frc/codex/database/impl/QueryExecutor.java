@@ -0,0 +1,207 @@
+package com.frc.codex.database.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.google.common.collect.ImmutableList;
+
+/*
+ * Executes SQL against the read and write pools.
+ * Statements and result sets are always closed so that the driver can return
+ * them to its per-connection prepared statement cache, and queries use a
+ * consistent fetch size. SQLExceptions are rethrown wrapped in RuntimeExceptions.
+ * Statement execution times are recorded if metrics are provided.
+ */
+public class QueryExecutor {
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+	private final DatabaseMetrics metrics;
+	private final DataSource readDataSource;
+	private final DataSource writeDataSource;
+
+	@FunctionalInterface
+	public interface ConnectionCallback<T> {
+		T execute(Connection connection) throws SQLException;
+	}
+
+	@FunctionalInterface
+	public interface RowCallback {
+		void process(ResultSet resultSet) throws SQLException;
+	}
+
+	@FunctionalInterface
+	public interface RowMapper<T> {
+		T map(ResultSet resultSet) throws SQLException;
+	}
+
+	@FunctionalInterface
+	public interface BatchBinder<T> {
+		void bind(PreparedStatement statement, T item) throws SQLException;
+	}
+
+	@FunctionalInterface
+	public interface StatementBinder {
+		StatementBinder NONE = statement -> {};
+
+		void bind(PreparedStatement statement) throws SQLException;
+	}
+
+	public QueryExecutor(DataSource readDataSource, DataSource writeDataSource) {
+		this(readDataSource, writeDataSource, null);
+	}
+
+	public QueryExecutor(DataSource readDataSource, DataSource writeDataSource, DatabaseMetrics metrics) {
+		this.metrics = metrics;
+		this.readDataSource = readDataSource;
+		this.writeDataSource = writeDataSource;
+	}
+
+	/*
+	 * Runs the callback with a read connection.
+	 */
+	public <T> T read(ConnectionCallback<T> callback) {
+		try (Connection connection = readDataSource.getConnection()) {
+			return callback.execute(connection);
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/*
+	 * Runs the callback with a write connection without committing.
+	 * Used for reads that must see the latest committed writes.
+	 */
+	public <T> T readPrimary(ConnectionCallback<T> callback) {
+		try (Connection connection = writeDataSource.getConnection()) {
+			try {
+				return callback.execute(connection);
+			} finally {
+				connection.rollback();
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/*
+	 * Runs the callback with a write connection and commits if it completes.
+	 * The transaction is rolled back if the callback throws.
+	 */
+	public <T> T write(ConnectionCallback<T> callback) {
+		try (Connection connection = writeDataSource.getConnection()) {
+			try {
+				T result = callback.execute(connection);
+				connection.commit();
+				return result;
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public <T> List<T> query(String sql, StatementBinder binder, RowMapper<T> rowMapper) {
+		return read(connection -> query(connection, sql, binder, rowMapper));
+	}
+
+	/*
+	 * Returns the first mapped row, or null if there are no rows.
+	 */
+	public <T> T queryForObject(String sql, StatementBinder binder, RowMapper<T> rowMapper) {
+		return read(connection -> queryForObject(connection, sql, binder, rowMapper));
+	}
+
+	public int update(String sql, StatementBinder binder) {
+		return write(connection -> update(connection, sql, binder));
+	}
+
+	public <T> List<T> query(Connection connection, String sql, StatementBinder binder, RowMapper<T> rowMapper) throws SQLException {
+		ImmutableList.Builder<T> results = ImmutableList.builder();
+		forEach(connection, sql, binder, DEFAULT_FETCH_SIZE, resultSet -> results.add(rowMapper.map(resultSet)));
+		return results.build();
+	}
+
+	public <T> T queryForObject(Connection connection, String sql, StatementBinder binder, RowMapper<T> rowMapper) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			binder.bind(statement);
+			statement.setMaxRows(1);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? rowMapper.map(resultSet) : null;
+			}
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	/*
+	 * Processes each row in turn without holding the full result in memory.
+	 */
+	public void forEach(Connection connection, String sql, StatementBinder binder, int fetchSize, RowCallback rowCallback) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			binder.bind(statement);
+			statement.setFetchSize(fetchSize);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					rowCallback.process(resultSet);
+				}
+			}
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	public int update(Connection connection, String sql, StatementBinder binder) throws SQLException {
+		long start = System.nanoTime();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			binder.bind(statement);
+			return statement.executeUpdate();
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	/*
+	 * Executes the statement once per item in a single batch.
+	 * Returns the update count for each item, in order.
+	 */
+	public <T> int[] batch(Connection connection, String sql, List<T> items, BatchBinder<T> binder) throws SQLException {
+		if (items.isEmpty()) {
+			return new int[0];
+		}
+		long start = System.nanoTime();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (T item : items) {
+				binder.bind(statement, item);
+				statement.addBatch();
+			}
+			return statement.executeBatch();
+		} finally {
+			recordQuery(sql, start);
+		}
+	}
+
+	private void recordQuery(String sql, long startNanos) {
+		if (metrics != null) {
+			metrics.recordQuery(sql, System.nanoTime() - startNanos);
+		}
+	}
+
+	/*
+	 * Binds parameters in order using setObject.
+	 */
+	public static StatementBinder parameters(List<?> parameters) {
+		return statement -> {
+			for (int i = 0; i < parameters.size(); i++) {
+				statement.setObject(i + 1, parameters.get(i));
+			}
+		};
+	}
+}
@@ -0,0 +1,56 @@
+package com.frc.codex.database.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import com.frc.codex.model.RegistryCode;
+
+/*
+ * Caches per-registry filing counts for a short period.
+ * Counts are adjusted locally as filings are created so that limit checks
+ * remain accurate between reloads.
+ */
+public class RegistryCountCache {
+	private final LongSupplier clock;
+	private final Map<RegistryCode, CachedCount> counts;
+	private final ToLongFunction<RegistryCode> loader;
+	private final long ttlMillis;
+
+	public RegistryCountCache(ToLongFunction<RegistryCode> loader, long ttlMillis) {
+		this(loader, ttlMillis, System::currentTimeMillis);
+	}
+
+	public RegistryCountCache(ToLongFunction<RegistryCode> loader, long ttlMillis, LongSupplier clock) {
+		this.clock = clock;
+		this.counts = new ConcurrentHashMap<>();
+		this.loader = loader;
+		this.ttlMillis = ttlMillis;
+	}
+
+	public long get(RegistryCode registryCode) {
+		long now = clock.getAsLong();
+		CachedCount cachedCount = counts.get(registryCode);
+		if (cachedCount == null || now - cachedCount.loadedAt() >= ttlMillis) {
+			cachedCount = new CachedCount(loader.applyAsLong(registryCode), now);
+			counts.put(registryCode, cachedCount);
+		}
+		return cachedCount.count();
+	}
+
+	public void increment(RegistryCode registryCode, long delta) {
+		if (registryCode == null || delta == 0) {
+			return;
+		}
+		// Counts that haven't been loaded yet will be read from the database when first requested.
+		counts.computeIfPresent(registryCode, (key, cachedCount) ->
+				new CachedCount(cachedCount.count() + delta, cachedCount.loadedAt()));
+	}
+
+	public void invalidate() {
+		counts.clear();
+	}
+
+	private record CachedCount(long count, long loadedAt) {}
+}
@@ -0,0 +1,107 @@
+package com.frc.codex.database.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.frc.codex.database.impl.QueryExecutor.ConnectionCallback;
+import com.frc.codex.database.impl.QueryExecutor.StatementBinder;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/*
+ * Routes reads of recently written filings to the primary until the read replica
+ * has replayed the write, so that a write followed by a read sees its own result.
+ * Writes are tracked by the primary's WAL position (LSN) after they commit.
+ * Filings without a tracked write, and all reads when no replica is configured,
+ * use the read pool directly.
+ */
+public class ReplicaRouter {
+	private static final Logger LOG = LoggerFactory.getLogger(ReplicaRouter.class);
+	private final boolean enabled;
+	private final QueryExecutor queryExecutor;
+	// Writes older than this are assumed to have been replayed.
+	private final Cache<UUID, Long> pendingWrites;
+
+	public ReplicaRouter(QueryExecutor queryExecutor, boolean enabled, long maximumSize, Duration ttl) {
+		this.enabled = enabled;
+		this.queryExecutor = queryExecutor;
+		this.pendingWrites = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.build();
+	}
+
+	/*
+	 * Records a committed write to the filing.
+	 */
+	public void recordWrite(UUID filingId) {
+		recordWrites(List.of(filingId));
+	}
+
+	/*
+	 * Records a committed write to each of the filings.
+	 */
+	public void recordWrites(Collection<UUID> filingIds) {
+		if (!enabled || filingIds.isEmpty()) {
+			return;
+		}
+		try {
+			Long lsn = queryExecutor.readPrimary(connection -> queryExecutor.queryForObject(connection,
+					"SELECT pg_current_wal_lsn() - '0/0'::pg_lsn",
+					StatementBinder.NONE,
+					resultSet -> resultSet.getLong(1)
+			));
+			if (lsn != null) {
+				for (UUID filingId : filingIds) {
+					pendingWrites.asMap().merge(filingId, lsn, Math::max);
+				}
+			}
+		} catch (RuntimeException e) {
+			// Without an LSN, route to the primary until the entries expire.
+			LOG.warn("Failed to retrieve WAL position after write to filings: {}", filingIds, e);
+			for (UUID filingId : filingIds) {
+				pendingWrites.put(filingId, Long.MAX_VALUE);
+			}
+		}
+	}
+
+	/*
+	 * Runs a read of the filing against the replica if it has replayed the
+	 * filing's last write, otherwise against the primary.
+	 */
+	public <T> T read(UUID filingId, ConnectionCallback<T> callback) {
+		Long writeLsn = enabled ? pendingWrites.getIfPresent(filingId) : null;
+		if (writeLsn == null) {
+			return queryExecutor.read(callback);
+		}
+		// The replay position is checked on the same connection as the read, as
+		// connections may be balanced across replicas.
+		return queryExecutor.read(connection -> {
+			if (getReplayLsn(connection) >= writeLsn) {
+				pendingWrites.asMap().remove(filingId, writeLsn);
+				return callback.execute(connection);
+			}
+			return queryExecutor.readPrimary(callback);
+		});
+	}
+
+	private long getReplayLsn(Connection connection) throws SQLException {
+		Long replayLsn = queryExecutor.queryForObject(connection,
+				"SELECT pg_last_wal_replay_lsn() - '0/0'::pg_lsn",
+				StatementBinder.NONE,
+				resultSet -> {
+					long lsn = resultSet.getLong(1);
+					// Null when the read pool is connected to a primary, which is always up to date.
+					return resultSet.wasNull() ? Long.MAX_VALUE : lsn;
+				}
+		);
+		return replayLsn == null ? Long.MAX_VALUE : replayLsn;
+	}
+}
@@ -0,0 +1,49 @@
+package com.frc.codex.database.impl;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import com.frc.codex.model.SearchFilingsRequest;
+
+/*
+ * Normalised form of a search request, used both to run the search and as
+ * the search result cache key, so that equivalent requests share an entry.
+ * Search text is upper cased, as company names and numbers are matched
+ * case-insensitively and company numbers are stored upper case.
+ */
+public record SearchCacheKey(
+		String searchText,
+		long limit,
+		String cursor,
+		LocalDateTime minDocumentDate,
+		LocalDateTime maxDocumentDate,
+		LocalDateTime minFilingDate,
+		LocalDateTime maxFilingDate,
+		String registryCode,
+		String status) {
+
+	public static SearchCacheKey of(SearchFilingsRequest searchFilingsRequest) {
+		return new SearchCacheKey(
+				normalize(searchFilingsRequest.getSearchText()),
+				Math.max(1, searchFilingsRequest.getLimit()),
+				emptyToNull(searchFilingsRequest.getCursor()),
+				searchFilingsRequest.getMinDocumentDate(),
+				searchFilingsRequest.getMaxDocumentDate(),
+				searchFilingsRequest.getMinFilingDate(),
+				searchFilingsRequest.getMaxFilingDate(),
+				emptyToNull(searchFilingsRequest.getRegistryCode()),
+				emptyToNull(searchFilingsRequest.getStatus())
+		);
+	}
+
+	private static String emptyToNull(String value) {
+		return value == null || value.isEmpty() ? null : value;
+	}
+
+	private static String normalize(String searchText) {
+		if (searchText == null) {
+			return null;
+		}
+		return emptyToNull(searchText.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,295 @@
+package com.frc.codex.database.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingSummary;
+import com.frc.codex.model.NewFilingRequest;
+import com.frc.codex.model.SearchCursor;
+import com.frc.codex.model.SearchFilingsResult;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/*
+ * Bounded cache of search results.
+ * Entries are invalidated when a write may change their results: new filings
+ * that the search could match and that would fall within the cached page,
+ * and updated filings that appear in the cached results or whose company
+ * could match the search text by any of the search predicates.
+ * Invalidations also apply to searches being loaded, whose results are then
+ * returned but not cached, as they may have been read before the write.
+ */
+public class SearchResultCache {
+	// Full-text search matches stemmed words, so tokens sharing this prefix are treated as matching.
+	private static final int TOKEN_PREFIX_LENGTH = 4;
+	// pg_trgm's default word_similarity_threshold, used by the %> operator.
+	private static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+	private final Cache<SearchCacheKey, CachedSearch> cache;
+	private final Set<Load> loads;
+
+	public SearchResultCache(long maximumSize, Duration ttl) {
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		this.loads = new HashSet<>();
+	}
+
+	public SearchFilingsResult get(SearchCacheKey key, Supplier<SearchFilingsResult> loader) {
+		CachedSearch cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached.result();
+		}
+		Load load = new Load(key);
+		synchronized (this) {
+			loads.add(load);
+		}
+		SearchFilingsResult result = null;
+		try {
+			result = loader.get();
+		} finally {
+			synchronized (this) {
+				loads.remove(load);
+				if (result != null && !load.invalidated) {
+					cache.put(key, CachedSearch.of(key, result));
+				}
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Invalidates searches that a new filing could appear in.
+	 */
+	public void invalidateNewFiling(NewFilingRequest filing) {
+		CompanyName name = CompanyName.of(filing.getCompanyName());
+		invalidateIf((key, cached) -> {
+			if (!filtersAccept(key, filing)) {
+				return false;
+			}
+			if (key.searchText() == null) {
+				return cached == null || mayBeOnPage(key, cached.result(), filing.getFilingDate());
+			}
+			return matchesCompany(key, cached, filing.getCompanyNumber(), name);
+		});
+	}
+
+	/*
+	 * Invalidates searches that an updated filing could appear in or drop out of.
+	 * Results only change a filing's company, document date and status.
+	 */
+	public void invalidateUpdatedFiling(UUID filingId, String companyNumber, String companyName) {
+		CompanyName name = CompanyName.of(companyName);
+		invalidateIf((key, cached) -> {
+			if (cached == null || contains(cached.result(), filingId)) {
+				return true;
+			}
+			if (key.searchText() == null) {
+				return key.status() != null || key.minDocumentDate() != null || key.maxDocumentDate() != null;
+			}
+			return matchesCompany(key, cached, companyNumber, name);
+		});
+	}
+
+	/*
+	 * Invalidates searches whose cached results include the filing.
+	 */
+	public void invalidateFiling(UUID filingId) {
+		invalidateIf((key, cached) -> cached == null || contains(cached.result(), filingId));
+	}
+
+	public synchronized void invalidateAll() {
+		loads.forEach(load -> load.invalidated = true);
+		cache.invalidateAll();
+	}
+
+	public String getStatus() {
+		CacheStats stats = cache.stats();
+		return String.format(
+				"Entries: %d, Hits: %d, Misses: %d, Hit rate: %.1f%%, Evictions: %d",
+				cache.size(),
+				stats.hitCount(),
+				stats.missCount(),
+				stats.hitRate() * 100,
+				stats.evictionCount()
+		);
+	}
+
+	/*
+	 * Removes matching entries and marks matching loads as invalidated.
+	 * The predicate is given null for searches that are still loading.
+	 */
+	private synchronized void invalidateIf(BiPredicate<SearchCacheKey, CachedSearch> predicate) {
+		for (Load load : loads) {
+			if (!load.invalidated && predicate.test(load.key, null)) {
+				load.invalidated = true;
+			}
+		}
+		cache.asMap().entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+	}
+
+	private static boolean filtersAccept(SearchCacheKey key, NewFilingRequest filing) {
+		if (key.registryCode() != null && !key.registryCode().equals(filing.getRegistryCode())) {
+			return false;
+		}
+		if (key.status() != null && !key.status().equals(FilingStatus.PENDING.toString())) {
+			return false;
+		}
+		return inRange(filing.getFilingDate(), key.minFilingDate(), key.maxFilingDate()) &&
+				inRange(filing.getDocumentDate(), key.minDocumentDate(), key.maxDocumentDate());
+	}
+
+	private static boolean inRange(LocalDateTime date, LocalDateTime min, LocalDateTime max) {
+		if (min == null && max == null) {
+			return true;
+		}
+		return date != null &&
+				(min == null || !date.isBefore(min)) &&
+				(max == null || !date.isAfter(max));
+	}
+
+	/*
+	 * Returns whether a filing with the given filing date would fall within the
+	 * page of unranked results, which are ordered by filing date descending.
+	 * Filings ordered before the page's cursor or after a full page don't change it.
+	 * Equal filing dates are treated as within the page, as they are ordered by filing ID.
+	 */
+	private static boolean mayBeOnPage(SearchCacheKey key, SearchFilingsResult result, LocalDateTime filingDate) {
+		SearchCursor cursor = SearchCursor.decode(key.cursor());
+		if (cursor != null && cursor.filingDate() != null && filingDate.isAfter(cursor.filingDate())) {
+			return false;
+		}
+		List<FilingSummary> filings = result.filings();
+		if (result.nextCursor() != null && !filings.isEmpty()) {
+			LocalDateTime lastFilingDate = filings.get(filings.size() - 1).getFilingDate();
+			// Filings without a filing date are ordered first.
+			return lastFilingDate == null || !filingDate.isBefore(lastFilingDate);
+		}
+		return true;
+	}
+
+	/*
+	 * Returns whether the search could match the company, erring towards a match.
+	 * Mirrors the search predicates: company number equality, full-text search
+	 * on stemmed tokens and, for longer search text, ILIKE substring matching and
+	 * %> word similarity, which can't exceed the share of the search text's
+	 * trigrams that appear in the name.
+	 */
+	private static boolean matchesCompany(SearchCacheKey key, CachedSearch cached, String companyNumber, CompanyName name) {
+		if (companyNumber != null && key.searchText().equalsIgnoreCase(companyNumber)) {
+			return true;
+		}
+		if (name.text() == null) {
+			return false;
+		}
+		if (cached == null) {
+			cached = CachedSearch.of(key, null);
+		}
+		boolean tokenMatch = cached.searchTokens().stream().anyMatch(searchToken ->
+				name.tokens().stream().anyMatch(nameToken -> tokensMatch(searchToken, nameToken)));
+		if (tokenMatch) {
+			return true;
+		}
+		if (key.searchText().length() < DatabaseManagerImpl.MIN_TRIGRAM_SEARCH_LENGTH) {
+			return false;
+		}
+		if (name.text().contains(cached.searchText())) {
+			return true;
+		}
+		Set<String> searchTrigrams = cached.searchTrigrams();
+		if (searchTrigrams.isEmpty()) {
+			return false;
+		}
+		long sharedTrigrams = searchTrigrams.stream().filter(name.trigrams()::contains).count();
+		return sharedTrigrams >= WORD_SIMILARITY_THRESHOLD * searchTrigrams.size();
+	}
+
+	private static boolean contains(SearchFilingsResult result, UUID filingId) {
+		return result.filings().stream()
+				.map(FilingSummary::getFilingId)
+				.anyMatch(filingId::equals);
+	}
+
+	private static Set<String> tokenize(String text) {
+		if (text == null) {
+			return Set.of();
+		}
+		return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+"))
+				.filter(token -> !token.isEmpty())
+				.collect(Collectors.toSet());
+	}
+
+	private static boolean tokensMatch(String a, String b) {
+		int length = Math.min(TOKEN_PREFIX_LENGTH, Math.min(a.length(), b.length()));
+		return a.regionMatches(0, b, 0, length);
+	}
+
+	/*
+	 * Returns the trigrams of each word as pg_trgm extracts them: lower cased
+	 * and padded with two spaces before and one after.
+	 */
+	private static Set<String> toTrigrams(Set<String> tokens) {
+		Set<String> trigrams = new HashSet<>();
+		for (String token : tokens) {
+			String padded = "  " + token + " ";
+			for (int i = 0; i + 3 <= padded.length(); i++) {
+				trigrams.add(padded.substring(i, i + 3));
+			}
+		}
+		return trigrams;
+	}
+
+	/*
+	 * Cached results along with the search text's lower cased form, tokens and
+	 * trigrams, so that invalidation doesn't process every cached search on every write.
+	 */
+	private record CachedSearch(
+			SearchFilingsResult result,
+			String searchText,
+			Set<String> searchTokens,
+			Set<String> searchTrigrams) {
+
+		private static CachedSearch of(SearchCacheKey key, SearchFilingsResult result) {
+			if (key.searchText() == null) {
+				return new CachedSearch(result, null, Set.of(), Set.of());
+			}
+			Set<String> tokens = tokenize(key.searchText());
+			return new CachedSearch(result, key.searchText().toLowerCase(Locale.ROOT), tokens, toTrigrams(tokens));
+		}
+	}
+
+	private record CompanyName(
+			String text,
+			Set<String> tokens,
+			Set<String> trigrams) {
+
+		private static CompanyName of(String companyName) {
+			if (companyName == null) {
+				return new CompanyName(null, Set.of(), Set.of());
+			}
+			Set<String> tokens = tokenize(companyName);
+			return new CompanyName(companyName.toLowerCase(Locale.ROOT), tokens, toTrigrams(tokens));
+		}
+	}
+
+	private static class Load {
+		private final SearchCacheKey key;
+		private boolean invalidated;
+
+		private Load(SearchCacheKey key) {
+			this.key = key;
+		}
+	}
+}
@@ -4,11 +4,17 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.FilingResultRequest;
 
 public interface QueueManager {
-	void addJobs(List<Filing> filings, Consumer<Filing> callback);
+	void addJobs(List<FilingSummary> filings, Consumer<FilingSummary> callback);
 	String getStatus();
-	void processResults(Function<FilingResultRequest, Boolean> callback);
+
+	/*
+	 * Retrieves results until the queue is empty or a time budget is spent and passes
+	 * them to the callback in batches. The callback returns whether each result was
+	 * handled. Handled results are removed from the queue.
+	 */
+	void processResults(Function<List<FilingResultRequest>, List<Boolean>> callback);
 }
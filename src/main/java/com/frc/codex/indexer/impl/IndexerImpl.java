@@ -1,29 +1,32 @@
 package com.frc.codex.indexer.impl;
 
-import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,8 +37,12 @@ import org.springframework.stereotype.Component;
 import com.frc.codex.properties.FilingIndexProperties;
 import com.frc.codex.model.RegistryCode;
 import com.frc.codex.database.DatabaseManager;
+import com.frc.codex.database.FilingStatusWriter;
+import com.frc.codex.database.Lease;
+import com.frc.codex.database.LeaseManager;
 import com.frc.codex.clients.companieshouse.CompaniesHouseClient;
 import com.frc.codex.clients.companieshouse.CompaniesHouseHistoryClient;
+import com.frc.codex.clients.companieshouse.CompaniesHouseRateLimiter;
 import com.frc.codex.clients.companieshouse.impl.CompaniesHouseCompaniesIndexerImpl;
 import com.frc.codex.clients.companieshouse.impl.CompaniesHouseStreamIndexerImpl;
 import com.frc.codex.clients.fca.FcaClient;
@@ -44,19 +51,24 @@ import com.frc.codex.indexer.Indexer;
 import com.frc.codex.indexer.IndexerJob;
 import com.frc.codex.indexer.LambdaManager;
 import com.frc.codex.indexer.QueueManager;
-import com.frc.codex.model.Company;
-import com.frc.codex.model.Filing;
+import com.frc.codex.model.CompanyNumberSet;
 import com.frc.codex.model.FilingPayload;
 import com.frc.codex.model.FilingResultRequest;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.NewFilingRequest;
 import com.frc.codex.model.companieshouse.CompaniesHouseArchive;
+import com.google.common.collect.Lists;
 
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
 
 @Component
 @Profile("application")
 public class IndexerImpl implements Indexer {
+	// Archives listed ahead of the archive being indexed.
+	private static final int ARCHIVE_LISTING_CONCURRENCY = 3;
+	private static final int FCA_FILING_BATCH_SIZE = 100;
+	private static final int PENDING_FILINGS_PAGE_SIZE = 500;
 	private static final Logger LOG = LoggerFactory.getLogger(IndexerImpl.class);
 	private final CompaniesHouseCompaniesIndexerImpl companiesHouseCompaniesIndexer;
 	private final CompaniesHouseClient companiesHouseClient;
@@ -64,8 +76,10 @@ public class IndexerImpl implements Indexer {
 	private final CompaniesHouseStreamIndexerImpl companiesHouseStreamIndexer;
 	private final DatabaseManager databaseManager;
 	private final FcaClient fcaClient;
+	private final FilingStatusWriter filingStatusWriter;
 	private final List<IndexerJob> jobs;
 	private final LambdaManager lambdaManager;
+	private final LeaseManager leaseManager;
 	private final FilingIndexProperties properties;
 	private final QueueManager queueManager;
 
@@ -77,19 +91,24 @@ public class IndexerImpl implements Indexer {
 			FilingIndexProperties properties,
 			CompaniesHouseClient companiesHouseClient,
 			CompaniesHouseHistoryClient companiesHouseHistoryClient,
+			CompaniesHouseRateLimiter companiesHouseRateLimiter,
 			DatabaseManager databaseManager,
 			FcaClient fcaClient,
+			FilingStatusWriter filingStatusWriter,
 			LambdaManager lambdaManager,
+			LeaseManager leaseManager,
 			QueueManager queueManager
 	) {
 		this.properties = properties;
-		this.companiesHouseCompaniesIndexer = new CompaniesHouseCompaniesIndexerImpl(companiesHouseClient, databaseManager); // TODO: Dependency injection?
+		this.companiesHouseCompaniesIndexer = new CompaniesHouseCompaniesIndexerImpl(companiesHouseClient, companiesHouseRateLimiter, databaseManager); // TODO: Dependency injection?
 		this.companiesHouseClient = companiesHouseClient;
 		this.companiesHouseHistoryClient = companiesHouseHistoryClient;
 		this.companiesHouseStreamIndexer = new CompaniesHouseStreamIndexerImpl(companiesHouseClient, databaseManager); // TODO: Dependency injection?
 		this.databaseManager = databaseManager;
 		this.fcaClient = fcaClient;
+		this.filingStatusWriter = filingStatusWriter;
 		this.lambdaManager = lambdaManager;
+		this.leaseManager = leaseManager;
 		this.queueManager = queueManager;
 		this.companiesHouseFilenamePattern = Pattern.compile(
 				"Prod\\d+_\\d+_([a-zA-Z0-9]+)_(\\d{8})\\..*"
@@ -107,11 +126,15 @@ public class IndexerImpl implements Indexer {
 						%s
 						FCA:
 						\tLast started: %s
-						\tLast finished: %s""",
+						\tLast finished: %s
+						%s
+						%s""",
 				healthy ? "Healthy" : "Unhealthy",
 				String.join("\n", jobs.stream().map(IndexerJob::getStatus).toList()),
 				fcaSessionLastStartedDate,
-				fcaSessionLastEndedDate
+				fcaSessionLastEndedDate,
+				filingStatusWriter.getStatus(),
+				leaseManager.getStatus()
 		);
 	}
 
@@ -123,14 +146,22 @@ public class IndexerImpl implements Indexer {
 	 */
 	@Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
 	public void indexCompaniesHouseFilings() throws IOException {
-		Supplier<Boolean> continueCallback = () -> {
-			if (!companiesHouseClient.isEnabled()) {
-				LOG.info("Cannot index from Companies House stream. Companies House client is disabled.");
-				return false;
+		try (Lease lease = leaseManager.tryAcquire("indexCompaniesHouseFilings")) {
+			if (lease == null) {
+				return;
 			}
-			return !databaseManager.checkRegistryLimit(RegistryCode.COMPANIES_HOUSE, properties.filingLimitCompaniesHouse());
-		};
-		companiesHouseStreamIndexer.run(continueCallback);
+			Supplier<Boolean> continueCallback = () -> {
+				if (!companiesHouseClient.isEnabled()) {
+					LOG.info("Cannot index from Companies House stream. Companies House client is disabled.");
+					return false;
+				}
+				if (!lease.isHeld()) {
+					return false;
+				}
+				return !databaseManager.checkRegistryLimit(RegistryCode.COMPANIES_HOUSE, properties.filingLimitCompaniesHouse());
+			};
+			companiesHouseStreamIndexer.run(continueCallback);
+		}
 	}
 
 	/*
@@ -138,69 +169,49 @@ public class IndexerImpl implements Indexer {
 	 */
 	@Scheduled(initialDelay = 90, fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
 	public void indexFilingsFromCompaniesIndex() throws IOException {
-		Supplier<Boolean> continueCallback = () -> {
-			if (!companiesHouseClient.isEnabled()) {
-				LOG.info("Cannot index filings from companies index: Companies House client is disabled.");
-				return false;
+		try (Lease lease = leaseManager.tryAcquire("indexFilingsFromCompaniesIndex")) {
+			if (lease == null) {
+				return;
 			}
-			return !databaseManager.checkRegistryLimit(RegistryCode.COMPANIES_HOUSE, properties.filingLimitCompaniesHouse());
-		};
-		companiesHouseCompaniesIndexer.run(continueCallback);
+			Supplier<Boolean> continueCallback = () -> {
+				if (!companiesHouseClient.isEnabled()) {
+					LOG.info("Cannot index filings from companies index: Companies House client is disabled.");
+					return false;
+				}
+				if (!lease.isHeld()) {
+					return false;
+				}
+				return !databaseManager.checkRegistryLimit(RegistryCode.COMPANIES_HOUSE, properties.filingLimitCompaniesHouse());
+			};
+			companiesHouseCompaniesIndexer.run(continueCallback);
+		}
 	}
 
 	/*
-	 * Processes a Companies House archive by downloading it and index known companies by
-	 * extracting company numbers from the contained filenames.
-	 * Returns true if the archive was processed successfully or doesn't need processing.
+	 * Indexes known companies from a Companies House archive by extracting company
+	 * numbers from the entry filenames, once the archive's entries have been listed.
+	 * Returns true if the archive was processed successfully.
 	 */
-	private boolean processCompaniesHouseArchive(URI uri, String archiveType, Set<String> existingCompanyNumbers) {
+	private boolean processCompaniesHouseArchive(ArchiveLink link, Future<List<String>> entries, CompanyNumberSet existingCompanyNumbers) throws InterruptedException {
+		URI uri = link.uri();
+		String filename = link.filename();
 		if (databaseManager.checkCompaniesLimit(properties.unprocessedCompaniesLimit())) {
 			return false;
 		}
-		String filename = new File(uri.getPath()).getName();
-		if (databaseManager.companiesHouseArchiveExists(filename)) {
-			LOG.debug("Skipping existing CH archive: {}", uri);
-			return true;
-		}
-		Path tempFile;
-		try {
-			tempFile = Files.createTempFile(filename, ".zip");
-		} catch (IOException e) {
-			LOG.error("Failed to create temporary file", e);
-			return false;
-		}
-		try (Closeable ignored = () -> Files.deleteIfExists(tempFile)) {
-			return processCompaniesHouseArchiveUsingTempFile(uri, archiveType, filename, tempFile, existingCompanyNumbers);
-		} catch (IOException e) {
-			LOG.error("Failed to delete temporary file: {}", tempFile, e);
-			return false;
-		}
-	}
-
-	private boolean processCompaniesHouseArchiveUsingTempFile(URI uri, String archiveType, String filename, Path tempFile, Set<String> existingCompanyNumbers) {
 		boolean completed = true;
-		LOG.info("Downloading archive: {}", uri);
-		try {
-			this.companiesHouseHistoryClient.downloadArchive(uri, tempFile);
-		} catch (IOException e) {
-			LOG.error("Failed to download archive: {}", uri, e);
-			return false;
-		}
-		LOG.info("Downloaded archive: {}", tempFile);
-
 		List<String> arcnames;
-		try (ZipFile zipFile = new ZipFile(tempFile.toFile())) {
-			arcnames = zipFile.stream()
-					.map(ZipEntry::getName)
+		try {
+			arcnames = entries.get().stream()
 					.sorted()
 					.toList();
-		} catch (Exception e) {
-			LOG.error("Failed to get arcnames for archive: {}", uri, e);
+		} catch (ExecutionException e) {
+			LOG.error("Failed to get arcnames for archive: {}", uri, e.getCause());
 			return false;
 		}
 		LOG.info("Found arcnames: {}", arcnames.size());
 
 		// Example: Prod223_3785_13056435_20240331.html
+		List<String> companyNumbers = new ArrayList<>();
 		for (String arcname : arcnames) {
 			Matcher matcher = companiesHouseFilenamePattern.matcher(arcname);
 			if (!matcher.matches()) {
@@ -208,23 +219,17 @@ public class IndexerImpl implements Indexer {
 				completed = false;
 				continue;
 			}
-			String companyNumber = matcher.group(1);
-			if (existingCompanyNumbers.contains(companyNumber)) {
-				LOG.debug("Skipping existing company: {}", companyNumber);
-				continue;
-			}
-			Company company = Company.builder()
-					.companyNumber(companyNumber)
-					.build();
-			databaseManager.createCompany(company);
-			LOG.debug("Created company {}.", companyNumber);
-			existingCompanyNumbers.add(companyNumber);
+			companyNumbers.add(matcher.group(1));
 		}
+		List<String> newCompanyNumbers = existingCompanyNumbers.addAll(companyNumbers);
+		LOG.info("Skipping {} existing companies.", companyNumbers.size() - newCompanyNumbers.size());
+		long createdCount = databaseManager.createCompanies(newCompanyNumbers);
+		LOG.info("Created {} companies from archive: {}", createdCount, filename);
 		if (completed) {
 			CompaniesHouseArchive archive = CompaniesHouseArchive.builder()
 					.filename(filename)
 					.uri(uri)
-					.archiveType(archiveType)
+					.archiveType(link.archiveType())
 					.build();
 			databaseManager.createCompaniesHouseArchive(archive);
 			LOG.info("Completed archive: {}", filename);
@@ -234,33 +239,66 @@ public class IndexerImpl implements Indexer {
 		return true;
 	}
 
+	/*
+	 * Indexes companies from daily, then monthly, then historic Companies House archives.
+	 * Archives are listed in parallel ahead of being processed in order, so that
+	 * one archive's entries are indexed while the following archives are listed.
+	 */
 	@Scheduled(initialDelay = 5, fixedDelay = 30, timeUnit = TimeUnit.MINUTES)
-	public void indexCompaniesFromCompaniesHouseArchives() {
-		if (databaseManager.checkCompaniesLimit(properties.unprocessedCompaniesLimit())) {
-			return;
-		}
-		var existingCompanyNumbers = new HashSet<String>(databaseManager.getCompaniesCompanyNumbers());
-		List<URI> downloadLinks;
-		downloadLinks = companiesHouseHistoryClient.getDailyDownloadLinks();
-		for (URI uri : downloadLinks) {
-			if (!processCompaniesHouseArchive(uri, "daily", existingCompanyNumbers)) {
+	public void indexCompaniesFromCompaniesHouseArchives() throws InterruptedException {
+		try (Lease lease = leaseManager.tryAcquire("indexCompaniesFromCompaniesHouseArchives")) {
+			if (lease == null) {
 				return;
 			}
-		}
-		downloadLinks = companiesHouseHistoryClient.getMonthlyDownloadLinks();
-		for (URI uri : downloadLinks) {
-			if (!processCompaniesHouseArchive(uri, "monthly", existingCompanyNumbers)) {
+			if (databaseManager.checkCompaniesLimit(properties.unprocessedCompaniesLimit())) {
 				return;
 			}
-		}
-		downloadLinks = companiesHouseHistoryClient.getArchiveDownloadLinks();
-		for (URI uri : downloadLinks) {
-			if (!processCompaniesHouseArchive(uri, "archive", existingCompanyNumbers)) {
-				return;
+			CompanyNumberSet existingCompanyNumbers = databaseManager.getCompaniesCompanyNumbers();
+			List<ArchiveLink> links = new ArrayList<>();
+			companiesHouseHistoryClient.getDailyDownloadLinks().forEach(uri -> links.add(new ArchiveLink(uri, "daily")));
+			companiesHouseHistoryClient.getMonthlyDownloadLinks().forEach(uri -> links.add(new ArchiveLink(uri, "monthly")));
+			companiesHouseHistoryClient.getArchiveDownloadLinks().forEach(uri -> links.add(new ArchiveLink(uri, "archive")));
+			Iterator<ArchiveLink> pendingLinks = links.stream()
+					.filter(link -> {
+						if (databaseManager.companiesHouseArchiveExists(link.filename())) {
+							LOG.debug("Skipping existing CH archive: {}", link.uri());
+							return false;
+						}
+						return true;
+					})
+					.iterator();
+			ExecutorService executor = Executors.newFixedThreadPool(ARCHIVE_LISTING_CONCURRENCY);
+			Deque<Map.Entry<ArchiveLink, Future<List<String>>>> listings = new ArrayDeque<>();
+			try {
+				while (true) {
+					// Keep up to the concurrency limit of archives being listed ahead.
+					while (listings.size() < ARCHIVE_LISTING_CONCURRENCY && pendingLinks.hasNext()) {
+						ArchiveLink link = pendingLinks.next();
+						LOG.info("Listing archive entries: {}", link.uri());
+						listings.add(Map.entry(link, executor.submit(
+								() -> companiesHouseHistoryClient.listArchiveEntries(link.uri())
+						)));
+					}
+					Map.Entry<ArchiveLink, Future<List<String>>> listing = listings.poll();
+					if (listing == null) {
+						return;
+					}
+					if (!processCompaniesHouseArchive(listing.getKey(), listing.getValue(), existingCompanyNumbers)) {
+						return;
+					}
+				}
+			} finally {
+				executor.shutdownNow();
 			}
 		}
 	}
 
+	private record ArchiveLink(URI uri, String archiveType) {
+		private String filename() {
+			return new File(uri.getPath()).getName();
+		}
+	}
+
 	/*
 	 * Indexes FCA filings.
 	 * Runs hourly, taking only a few seconds.
@@ -268,91 +306,155 @@ public class IndexerImpl implements Indexer {
 	 */
 	@Scheduled(initialDelay = 1, fixedDelay = 60, timeUnit = TimeUnit.MINUTES)
 	public void indexFca() {
-		// TODO: Implement as IndexerJob
-		fcaSessionLastStartedDate = new Date();
-		LOG.info("Starting FCA indexing at {}", fcaSessionLastStartedDate);
-		if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
-			return;
-		}
-		LocalDateTime fcaStartDate = properties.fcaPastDays() <= 0 ? null :
-				LocalDateTime.now().minusDays(properties.fcaPastDays());
-		LocalDateTime latestSubmittedDate = databaseManager.getLatestFcaFilingDate(fcaStartDate);
-		List<FcaFiling> filings = fcaClient.fetchAllSinceDate(latestSubmittedDate);
-		for (FcaFiling filing : filings) {
-			NewFilingRequest newFilingRequest = NewFilingRequest.builder()
-					.companyName(filing.companyName())
-					.companyNumber(filing.lei())
-					.documentDate(filing.documentDate())
-					.downloadUrl(filing.downloadUrl())
-					.externalFilingId(filing.sequenceId())
-					.externalViewUrl(filing.infoUrl())
-					.filingDate(filing.submittedDate())
-					.registryCode(RegistryCode.FCA.getCode())
-					.build();
-			if (databaseManager.filingExists(newFilingRequest.getRegistryCode(), newFilingRequest.getExternalFilingId())) {
-				LOG.info("Skipping existing FCA filing: {}", filing.downloadUrl());
-				continue;
+		try (Lease lease = leaseManager.tryAcquire("indexFca")) {
+			if (lease == null) {
+				return;
 			}
+			// TODO: Implement as IndexerJob
+			fcaSessionLastStartedDate = new Date();
+			LOG.info("Starting FCA indexing at {}", fcaSessionLastStartedDate);
 			if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
-				break;
+				return;
 			}
-			UUID filingId = databaseManager.createFiling(newFilingRequest);
-			LOG.info("Created FCA filing for {}: {}", filing.downloadUrl(), filingId);
+			LocalDateTime fcaStartDate = properties.fcaPastDays() <= 0 ? null :
+					LocalDateTime.now().minusDays(properties.fcaPastDays());
+			LocalDateTime latestSubmittedDate = databaseManager.getLatestFcaFilingDate(fcaStartDate);
+			List<FcaFiling> filings = fcaClient.fetchAllSinceDate(latestSubmittedDate);
+			List<NewFilingRequest> newFilingRequests = filings.stream()
+					.map(filing -> NewFilingRequest.builder()
+							.companyName(filing.companyName())
+							.companyNumber(filing.lei())
+							.documentDate(filing.documentDate())
+							.downloadUrl(filing.downloadUrl())
+							.externalFilingId(filing.sequenceId())
+							.externalViewUrl(filing.infoUrl())
+							.filingDate(filing.submittedDate())
+							.registryCode(RegistryCode.FCA.getCode())
+							.build())
+					.toList();
+			for (List<NewFilingRequest> batch : Lists.partition(newFilingRequests, FCA_FILING_BATCH_SIZE)) {
+				if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
+					break;
+				}
+				List<UUID> filingIds = databaseManager.createFilings(batch);
+				for (int i = 0; i < batch.size(); i++) {
+					NewFilingRequest newFilingRequest = batch.get(i);
+					UUID filingId = filingIds.get(i);
+					if (filingId == null) {
+						LOG.info("Skipping existing FCA filing: {}", newFilingRequest.getDownloadUrl());
+						continue;
+					}
+					LOG.info("Created FCA filing for {}: {}", newFilingRequest.getDownloadUrl(), filingId);
+				}
+			}
+			fcaSessionLastEndedDate = new Date();
+			LOG.info("Completed FCA indexing at {}", fcaSessionLastEndedDate);
 		}
-		fcaSessionLastEndedDate = new Date();
-		LOG.info("Completed FCA indexing at {}", fcaSessionLastEndedDate);
 	}
 
 	@Scheduled(initialDelay = 1, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
 	public void preprocessFcaViaLambda() throws InterruptedException {
-		int concurrency = properties.lambdaPreprocessingConcurrency();
-		if (concurrency < 1) {
-			return;
-		}
-		if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
-			return;
-		}
-		LOG.info("Starting preprocessing of FCA filings via Lambda.");
-		Queue<Filing> filings = new LinkedList<>(databaseManager.getFilingsByStatus(FilingStatus.PENDING, RegistryCode.FCA));
-		@SuppressWarnings("unchecked")
-		CompletableFuture<InvokeResponse>[] futures = new CompletableFuture[concurrency];
-		while (Arrays.stream(futures).anyMatch(Objects::nonNull) || !filings.isEmpty()) {
-			for (int i = 0; i < futures.length; i++) {
-				CompletableFuture<InvokeResponse> future = futures[i];
-				if (future == null) {
-					Filing filing = filings.poll();
-					if (filing == null) {
-						continue; // Nothing new to add, allow other futures to complete.
-					}
-					if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
-						continue; // Limit reached, allow other futures to complete.
-					}
-					// Invoke the Lambda function and assign to the future slot.
-					LOG.info("Started preprocessing of FCA filing via Lambda: {}", filing.getFilingId());
-					future = lambdaManager.invokeAsync(new FilingPayload(
-							filing.getFilingId(),
-							filing.getDownloadUrl(),
-							filing.getRegistryCode()
-					));
-					futures[i] = future;
-				} else if (future.isDone()) {
-					futures[i] = null;
-					InvokeResponse response;
-					try {
-						response = future.get();
-					} catch (ExecutionException e) {
-						LOG.error("Preprocessing via Lambda encountered an exception.", e);
-						continue;
-					}
-					FilingResultRequest result = lambdaManager.parseResult(response);
-					if (result == null) {
-						continue;
+		try (Lease lease = leaseManager.tryAcquire("preprocessFcaViaLambda")) {
+			if (lease == null) {
+				return;
+			}
+			int concurrency = properties.lambdaPreprocessingConcurrency();
+			if (concurrency < 1) {
+				return;
+			}
+			if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
+				return;
+			}
+			LOG.info("Starting preprocessing of FCA filings via Lambda.");
+			@SuppressWarnings("unchecked")
+			CompletableFuture<InvokeResponse>[] futures = new CompletableFuture[concurrency];
+			FilingSummary[] filings = new FilingSummary[concurrency];
+			// Failed filings are returned to pending and would otherwise be claimed again in this run.
+			Set<UUID> failedFilingIds = new HashSet<>();
+			boolean exhausted = false;
+			while (Arrays.stream(futures).anyMatch(Objects::nonNull) || !exhausted) {
+				List<FilingResultRequest> results = new ArrayList<>();
+				for (int i = 0; i < futures.length; i++) {
+					CompletableFuture<InvokeResponse> future = futures[i];
+					if (future == null) {
+						if (exhausted) {
+							continue; // Nothing new to add, allow other futures to complete.
+						}
+						if (databaseManager.checkRegistryLimit(RegistryCode.FCA, properties.filingLimitFca())) {
+							exhausted = true;
+							continue; // Limit reached, allow other futures to complete.
+						}
+						// Claim a filing so that other instances don't process it concurrently.
+						List<FilingSummary> claimed = databaseManager.claimPendingFilings(1, RegistryCode.FCA);
+						if (claimed.isEmpty()) {
+							exhausted = true;
+							continue;
+						}
+						FilingSummary filing = claimed.get(0);
+						if (failedFilingIds.contains(filing.getFilingId())) {
+							// Every other pending filing has been tried, retry failures on the next run.
+							filingStatusWriter.write(filing.getFilingId(), filing.getFilingDate(), FilingStatus.PENDING.toString());
+							exhausted = true;
+							continue;
+						}
+						// Invoke the Lambda function and assign to the future slot.
+						LOG.info("Started preprocessing of FCA filing via Lambda: {}", filing.getFilingId());
+						future = lambdaManager.invokeAsync(new FilingPayload(
+								filing.getFilingId(),
+								filing.getDownloadUrl(),
+								filing.getRegistryCode()
+						));
+						futures[i] = future;
+						filings[i] = filing;
+					} else if (future.isDone()) {
+						FilingSummary filing = filings[i];
+						futures[i] = null;
+						filings[i] = null;
+						InvokeResponse response;
+						try {
+							response = future.get();
+						} catch (ExecutionException e) {
+							LOG.error("Preprocessing via Lambda encountered an exception.", e);
+							failedFilingIds.add(filing.getFilingId());
+							filingStatusWriter.write(filing.getFilingId(), filing.getFilingDate(), FilingStatus.PENDING.toString());
+							continue;
+						}
+						FilingResultRequest result = lambdaManager.parseResult(response);
+						if (result == null) {
+							failedFilingIds.add(filing.getFilingId());
+							filingStatusWriter.write(filing.getFilingId(), filing.getFilingDate(), FilingStatus.PENDING.toString());
+							continue;
+						}
+						LOG.info("Completed preprocessing of FCA filing via Lambda: {}", result.getFilingId());
+						results.add(result);
 					}
-					LOG.info("Completed preprocessing of FCA filing via Lambda: {}", result.getFilingId());
-					databaseManager.applyFilingResult(result);
 				}
+				// Results completed in the same pass are applied together.
+				if (!results.isEmpty()) {
+					databaseManager.applyFilingResults(results);
+				}
+				Thread.sleep(1000);
+			}
+		}
+	}
+
+	/*
+	 * Returns filings that have been queued for longer than the configured timeout
+	 * to pending, e.g. if the instance that claimed them stopped before processing
+	 * them or before returning them to pending.
+	 */
+	@Scheduled(initialDelay = 10, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+	public void resetStaleQueuedFilings() {
+		try (Lease lease = leaseManager.tryAcquire("resetStaleQueuedFilings")) {
+			if (lease == null) {
+				return;
+			}
+			int resetCount = databaseManager.resetStaleQueuedFilings(
+					Duration.ofMinutes(properties.queuedFilingTimeoutMinutes())
+			);
+			if (resetCount > 0) {
+				LOG.warn("Returned {} stale queued filings to pending.", resetCount);
 			}
-			Thread.sleep(1000);
 		}
 	}
 
@@ -367,20 +469,21 @@ public class IndexerImpl implements Indexer {
 			return;
 		}
 		LOG.info("Starting to process results.");
-		queueManager.processResults((FilingResultRequest filingResultRequest) -> {
+		queueManager.processResults((List<FilingResultRequest> filingResultRequests) -> {
+			LOG.info("Applying filing results: {}", filingResultRequests.size());
 			try {
-				LOG.info("Applying filing result: {}", filingResultRequest);
-				databaseManager.applyFilingResult(filingResultRequest);
-				return true;
+				return databaseManager.applyFilingResults(filingResultRequests);
 			} catch (Exception e) {
-				LOG.error("Failed to process result: {}", filingResultRequest.getFilingId(), e);
-				return false;
+				LOG.error("Failed to process results.", e);
+				return Collections.nCopies(filingResultRequests.size(), false);
 			}
 		});
 	}
 
 	/*
-	 * Retrieves pending filings from the database and adds them to the job queue.
+	 * Claims pending filings from the database and adds them to the job queue.
+	 * Claiming is atomic, so multiple instances can queue jobs without duplicates.
+	 * Claimed filings that fail to queue are returned to pending.
 	 * Reruns after a delay of 20 seconds.
 	 * Can share a scheduler thread with other tasks.
 	 */
@@ -390,10 +493,28 @@ public class IndexerImpl implements Indexer {
 			return;
 		}
 		LOG.info("Starting to queue jobs.");
-		List<Filing> filings = databaseManager.getFilingsByStatus(FilingStatus.PENDING);
-		LOG.info("Pending filings: {}", filings.size());
-		queueManager.addJobs(filings, (Filing filing) -> {
-			databaseManager.updateFilingStatus(filing.getFilingId(), FilingStatus.QUEUED.toString());
-		});
+		int pendingCount = 0;
+		while (true) {
+			List<FilingSummary> filings = databaseManager.claimPendingFilings(PENDING_FILINGS_PAGE_SIZE, null);
+			if (filings.isEmpty()) {
+				break;
+			}
+			pendingCount += filings.size();
+			Set<UUID> queuedFilingIds = new HashSet<>();
+			try {
+				queueManager.addJobs(filings, (FilingSummary filing) -> queuedFilingIds.add(filing.getFilingId()));
+			} finally {
+				for (FilingSummary filing : filings) {
+					if (!queuedFilingIds.contains(filing.getFilingId())) {
+						filingStatusWriter.write(filing.getFilingId(), filing.getFilingDate(), FilingStatus.PENDING.toString());
+					}
+				}
+			}
+			if (queuedFilingIds.size() < filings.size()) {
+				// Retry failed filings on the next run rather than reclaiming them immediately.
+				break;
+			}
+		}
+		LOG.info("Pending filings: {}", pendingCount);
 	}
 }
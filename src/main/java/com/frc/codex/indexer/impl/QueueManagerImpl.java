@@ -1,8 +1,10 @@
 package com.frc.codex.indexer.impl;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -16,10 +18,14 @@ import org.springframework.stereotype.Component;
 
 import com.frc.codex.properties.FilingIndexProperties;
 import com.frc.codex.indexer.QueueManager;
-import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.FilingResultRequest;
+import com.google.common.collect.Lists;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
@@ -31,6 +37,10 @@ import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 public class QueueManagerImpl implements QueueManager {
 	private static final Logger LOG = LoggerFactory.getLogger(IndexerImpl.class);
 	private static final DateTimeFormatter MESSAGE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	private static final int RECEIVE_BATCH_SIZE = 10;
+	private static final int RESULTS_BATCH_SIZE = 500;
+	// Kept well under the results queue's visibility timeout, so received messages aren't redelivered.
+	private static final Duration RESULTS_TIME_BUDGET = Duration.ofSeconds(15);
 	private final FilingIndexProperties properties;
 
 	public QueueManagerImpl(FilingIndexProperties properties) {
@@ -40,12 +50,12 @@ public class QueueManagerImpl implements QueueManager {
 	/*
 	 * Adds a list of filings to the jobs queue, invoking a callback on each filing.
 	 */
-	public void addJobs(List<Filing> filings, Consumer<Filing> callback) {
+	public void addJobs(List<FilingSummary> filings, Consumer<FilingSummary> callback) {
 		try (SqsClient sqsClient = getSqsClient()) {
 			String queueUrl = sqsClient
 					.getQueueUrl(builder -> builder.queueName(properties.sqsJobsQueueName()))
 					.queueUrl();
-			for (Filing filing : filings) {
+			for (FilingSummary filing : filings) {
 				String filingId = filing.getFilingId().toString();
 				LOG.info("Queueing filing: {}", filingId);
 				MessageAttributeValue downloadUrl = MessageAttributeValue.builder()
@@ -121,9 +131,11 @@ public class QueueManagerImpl implements QueueManager {
 	}
 
 	/*
-	 * Retrieves messages from the results queue.
+	 * Retrieves messages from the results queue until it is empty or the time
+	 * budget is spent, passing them to the callback in batches of up to
+	 * RESULTS_BATCH_SIZE. Handled messages are deleted in batches of 10.
 	 */
-	public void processResults(Function<FilingResultRequest, Boolean> callback) {
+	public void processResults(Function<List<FilingResultRequest>, List<Boolean>> callback) {
 		try (SqsClient sqsClient = getSqsClient()) {
 			String queueUrl = sqsClient
 					.getQueueUrl(builder -> builder.queueName(properties.sqsResultsQueueName()))
@@ -131,52 +143,119 @@ public class QueueManagerImpl implements QueueManager {
 			ReceiveMessageRequest receiveMessageRequest = ReceiveMessageRequest.builder()
 					.queueUrl(queueUrl)
 					.messageAttributeNames("All")
-					.maxNumberOfMessages(10)
+					.maxNumberOfMessages(RECEIVE_BATCH_SIZE)
 					.waitTimeSeconds(5)
 					.build();
-			List<Message> messages = sqsClient.receiveMessage(receiveMessageRequest).messages();
-			LOG.info("Received results messages: {}", messages.size());
-			for(Message message : messages) {
-				boolean success = Objects.equals(getMessageAttribute(message, "Success"), "true");
-				String error = null;
-				String filename = null;
-				String oimDirectory = null;
-				String viewerEntrypoint = null;
-				if (!success) {
-					error = getMessageAttribute(message, "Error");
-				} else {
-					filename = getMessageAttribute(message, "Filename");
-					oimDirectory = getMessageAttribute(message, "OimDirectory");
-					viewerEntrypoint = getMessageAttribute(message, "ViewerEntrypoint");
-				}
-				String companyName = getMessageAttribute(message, "CompanyName");
-				companyName = companyName == null ? null : companyName.toUpperCase();
-				String companyNumber = getMessageAttribute(message, "CompanyNumber");
-				String documentDateStr = getMessageAttribute(message, "DocumentDate");
-				LocalDateTime documentDate = null;
-				if (documentDateStr != null) {
-					documentDate = LocalDate.parse(documentDateStr, MESSAGE_DATE_FORMAT).atStartOfDay();
+			long deadline = System.nanoTime() + RESULTS_TIME_BUDGET.toNanos();
+			List<Message> messages = new ArrayList<>();
+			int receivedCount = 0;
+			while (System.nanoTime() < deadline) {
+				List<Message> received = sqsClient.receiveMessage(receiveMessageRequest).messages();
+				if (received.isEmpty()) {
+					break;
 				}
-				UUID filingId = UUID.fromString(Objects.requireNonNull(getMessageAttribute(message, "FilingId")));
-				String logs = message.body();
-				FilingResultRequest filingResultRequest = FilingResultRequest.builder()
-						.companyName(companyName)
-						.companyNumber(companyNumber)
-						.documentDate(documentDate)
-						.error(error)
-						.filingId(filingId)
-						.logs(logs)
-						.filename(filename)
-						.oimDirectory(oimDirectory)
-						.stubViewerUrl(viewerEntrypoint)
-						.success(success)
-						.build();
-				if (callback.apply(filingResultRequest)) {
-					sqsClient.deleteMessage(builder -> builder
-							.queueUrl(queueUrl)
-							.receiptHandle(message.receiptHandle()));
+				receivedCount += received.size();
+				messages.addAll(received);
+				if (messages.size() >= RESULTS_BATCH_SIZE) {
+					applyResults(sqsClient, queueUrl, messages, callback);
+					messages = new ArrayList<>();
 				}
 			}
+			if (!messages.isEmpty()) {
+				applyResults(sqsClient, queueUrl, messages, callback);
+			}
+			LOG.info("Received results messages: {}", receivedCount);
+		}
+	}
+
+	/*
+	 * Passes the parsed messages to the callback and deletes those it handled.
+	 * Messages that can't be parsed are logged and left on the queue, so that
+	 * they don't hold back the rest of the batch. They are received again until
+	 * the queue's redrive policy, if any, moves them to a dead-letter queue.
+	 */
+	void applyResults(
+			SqsClient sqsClient,
+			String queueUrl,
+			List<Message> messages,
+			Function<List<FilingResultRequest>, List<Boolean>> callback
+	) {
+		List<Message> parsedMessages = new ArrayList<>(messages.size());
+		List<FilingResultRequest> filingResultRequests = new ArrayList<>(messages.size());
+		for (Message message : messages) {
+			FilingResultRequest filingResultRequest;
+			try {
+				filingResultRequest = parseResult(message);
+			} catch (RuntimeException e) {
+				LOG.error("Skipping malformed results message: {}", message.messageId(), e);
+				continue;
+			}
+			parsedMessages.add(message);
+			filingResultRequests.add(filingResultRequest);
 		}
+		if (filingResultRequests.isEmpty()) {
+			return;
+		}
+		List<Boolean> handled = callback.apply(filingResultRequests);
+		List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+		for (int i = 0; i < parsedMessages.size(); i++) {
+			if (handled.get(i)) {
+				entries.add(DeleteMessageBatchRequestEntry.builder()
+						.id(String.valueOf(i))
+						.receiptHandle(parsedMessages.get(i).receiptHandle())
+						.build());
+			}
+		}
+		// DeleteMessageBatch accepts at most 10 entries.
+		for (List<DeleteMessageBatchRequestEntry> batch : Lists.partition(entries, RECEIVE_BATCH_SIZE)) {
+			DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+					.queueUrl(queueUrl)
+					.entries(batch)
+					.build());
+			// Undeleted messages are received again and reapplied, which is idempotent.
+			response.failed().forEach(failure -> LOG.error(
+					"Failed to delete results message {}: ({}) {}",
+					parsedMessages.get(Integer.parseInt(failure.id())).messageId(),
+					failure.code(),
+					failure.message()
+			));
+		}
+	}
+
+	private FilingResultRequest parseResult(Message message) {
+		boolean success = Objects.equals(getMessageAttribute(message, "Success"), "true");
+		String error = null;
+		String filename = null;
+		String oimDirectory = null;
+		String viewerEntrypoint = null;
+		if (!success) {
+			error = getMessageAttribute(message, "Error");
+		} else {
+			filename = getMessageAttribute(message, "Filename");
+			oimDirectory = getMessageAttribute(message, "OimDirectory");
+			viewerEntrypoint = getMessageAttribute(message, "ViewerEntrypoint");
+		}
+		String companyName = getMessageAttribute(message, "CompanyName");
+		companyName = companyName == null ? null : companyName.toUpperCase();
+		String companyNumber = getMessageAttribute(message, "CompanyNumber");
+		String documentDateStr = getMessageAttribute(message, "DocumentDate");
+		LocalDateTime documentDate = null;
+		if (documentDateStr != null) {
+			documentDate = LocalDate.parse(documentDateStr, MESSAGE_DATE_FORMAT).atStartOfDay();
+		}
+		UUID filingId = UUID.fromString(Objects.requireNonNull(getMessageAttribute(message, "FilingId")));
+		String logs = message.body();
+		return FilingResultRequest.builder()
+				.companyName(companyName)
+				.companyNumber(companyNumber)
+				.documentDate(documentDate)
+				.error(error)
+				.filingId(filingId)
+				.logs(logs)
+				.filename(filename)
+				.oimDirectory(oimDirectory)
+				.stubViewerUrl(viewerEntrypoint)
+				.success(success)
+				.build();
 	}
 }
@@ -0,0 +1,167 @@
+package com.frc.codex.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Compact set of company numbers for de-duplicating millions of companies.
+ * Company numbers are 8 characters of digits and upper case letters (e.g. "13056435",
+ * "SC123456"), which are packed as base 36 into a sorted long array at 8 bytes per
+ * number, rather than the ~100 bytes of a String in a HashSet.
+ * The few numbers that can't be packed are held as strings.
+ * Not thread-safe.
+ */
+public class CompanyNumberSet {
+	private static final int PACKED_LENGTH = 8;
+	private static final int RADIX = 36;
+	private long[] packed;
+	private final Set<String> unpacked;
+
+	private CompanyNumberSet(long[] packed, Set<String> unpacked) {
+		this.packed = packed;
+		this.unpacked = unpacked;
+	}
+
+	public static Builder builder(int expectedSize) {
+		return new Builder(expectedSize);
+	}
+
+	public boolean contains(String companyNumber) {
+		long value = pack(companyNumber);
+		if (value < 0) {
+			return unpacked.contains(companyNumber);
+		}
+		return Arrays.binarySearch(packed, value) >= 0;
+	}
+
+	/*
+	 * Adds the company numbers to the set.
+	 * Returns the numbers that were not already in the set, once each, in the
+	 * order they were first given. New numbers are merged in a single pass,
+	 * so numbers should be added in batches rather than one at a time.
+	 */
+	public List<String> addAll(Collection<String> companyNumbers) {
+		long[] candidates = new long[companyNumbers.size()];
+		int candidateCount = 0;
+		for (String companyNumber : companyNumbers) {
+			long value = pack(companyNumber);
+			if (value >= 0 && Arrays.binarySearch(packed, value) < 0) {
+				candidates[candidateCount++] = value;
+			}
+		}
+		long[] values = distinct(candidates, candidateCount);
+		boolean[] emitted = new boolean[values.length];
+		List<String> added = new ArrayList<>();
+		for (String companyNumber : companyNumbers) {
+			long value = pack(companyNumber);
+			if (value < 0) {
+				if (unpacked.add(companyNumber)) {
+					added.add(companyNumber);
+				}
+				continue;
+			}
+			int index = Arrays.binarySearch(values, value);
+			if (index >= 0 && !emitted[index]) {
+				emitted[index] = true;
+				added.add(companyNumber);
+			}
+		}
+		if (values.length > 0) {
+			packed = merge(packed, values);
+		}
+		return added;
+	}
+
+	public int size() {
+		return packed.length + unpacked.size();
+	}
+
+	/*
+	 * Returns the number packed as base 36, or -1 if it is not 8 digits or
+	 * upper case letters.
+	 */
+	static long pack(String companyNumber) {
+		if (companyNumber == null || companyNumber.length() != PACKED_LENGTH) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = 0; i < PACKED_LENGTH; i++) {
+			char c = companyNumber.charAt(i);
+			int digit;
+			if (c >= '0' && c <= '9') {
+				digit = c - '0';
+			} else if (c >= 'A' && c <= 'Z') {
+				digit = c - 'A' + 10;
+			} else {
+				return -1;
+			}
+			value = value * RADIX + digit;
+		}
+		return value;
+	}
+
+	/*
+	 * Returns the first `length` values sorted with duplicates removed.
+	 */
+	private static long[] distinct(long[] values, int length) {
+		Arrays.sort(values, 0, length);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if (count == 0 || values[i] != values[count - 1]) {
+				values[count++] = values[i];
+			}
+		}
+		return Arrays.copyOf(values, count);
+	}
+
+	/*
+	 * Merges two sorted arrays that share no values.
+	 */
+	private static long[] merge(long[] left, long[] right) {
+		long[] result = new long[left.length + right.length];
+		int i = 0, j = 0, k = 0;
+		while (i < left.length && j < right.length) {
+			result[k++] = left[i] < right[j] ? left[i++] : right[j++];
+		}
+		while (i < left.length) {
+			result[k++] = left[i++];
+		}
+		while (j < right.length) {
+			result[k++] = right[j++];
+		}
+		return result;
+	}
+
+	public static class Builder {
+		private long[] packed;
+		private int count;
+		private final Set<String> unpacked;
+
+		private Builder(int expectedSize) {
+			this.packed = new long[Math.max(16, expectedSize)];
+			this.count = 0;
+			this.unpacked = new HashSet<>();
+		}
+
+		public Builder add(String companyNumber) {
+			long value = pack(companyNumber);
+			if (value < 0) {
+				unpacked.add(companyNumber);
+				return this;
+			}
+			if (count == packed.length) {
+				packed = Arrays.copyOf(packed, packed.length + (packed.length >> 1));
+			}
+			packed[count++] = value;
+			return this;
+		}
+
+		public CompanyNumberSet build() {
+			return new CompanyNumberSet(distinct(packed, count), unpacked);
+		}
+	}
+}
@@ -22,8 +22,6 @@ public class Filing {
 	private final LocalDateTime filingDate;
 	private final LocalDateTime documentDate;
 	private final Long streamTimepoint;
-	private final String error;
-	private final String logs;
 	private final String stubViewerUrl;
 	private final String oimDirectory;
 
@@ -42,8 +40,6 @@ public class Filing {
 		this.filingDate = b.filingDate;
 		this.documentDate = b.documentDate;
 		this.streamTimepoint = b.streamTimepoint;
-		this.error = b.error;
-		this.logs = b.logs;
 		this.stubViewerUrl = b.stubViewerUrl;
 		this.oimDirectory = b.oimDirectory;
 	}
@@ -125,14 +121,6 @@ public class Filing {
 		return streamTimepoint;
 	}
 
-	public String getError() {
-		return error;
-	}
-
-	public String getLogs() {
-		return logs;
-	}
-
 	public String getStubViewerUrl() {
 		return stubViewerUrl;
 	}
@@ -188,8 +176,6 @@ public class Filing {
 		private LocalDateTime filingDate;
 		private LocalDateTime documentDate;
 		private Long streamTimepoint;
-		private String error;
-		private String logs;
 		private String stubViewerUrl;
 		private String oimDirectory;
 
@@ -268,16 +254,6 @@ public class Filing {
 			return this;
 		}
 
-		public Builder error(String error) {
-			this.error = error;
-			return this;
-		}
-
-		public Builder logs(String logs) {
-			this.logs = logs;
-			return this;
-		}
-
 		public Builder stubViewerUrl(String stubViewerUrl) {
 			this.stubViewerUrl = stubViewerUrl;
 			return this;
@@ -0,0 +1,14 @@
+package com.frc.codex.model;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/*
+ * Processing output for a filing, stored separately from the filing itself.
+ */
+public record FilingResult(
+		UUID filingId,
+		String error,
+		String logs,
+		Timestamp updatedDate) {
+}
@@ -0,0 +1,49 @@
+package com.frc.codex.model;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/*
+ * Filing counts and processing statistics. Counts are current, while throughput
+ * and timings are as of the last refresh and only cover filings with a result
+ * in the last week.
+ */
+public record FilingStatistics(
+		List<StatusCount> statusCounts,
+		List<ProcessingStatistics> processingStatistics,
+		Timestamp refreshedDate) {
+
+	public long getCount(FilingStatus status) {
+		return statusCounts.stream()
+				.filter(statusCount -> statusCount.status().equals(status.toString()))
+				.mapToLong(StatusCount::count)
+				.sum();
+	}
+
+	public record StatusCount(
+			String registryCode,
+			String status,
+			long count) {
+	}
+
+	public record ProcessingStatistics(
+			String registryCode,
+			long completedLastHour,
+			long completedLastDay,
+			long completedLastWeek,
+			long failedLastDay,
+			long failedLastWeek,
+			Percentiles downloadTime,
+			Percentiles workerTime,
+			Percentiles totalProcessingTime) {
+	}
+
+	/*
+	 * Durations in seconds, null if there were no completed filings.
+	 */
+	public record Percentiles(
+			Double p50,
+			Double p95,
+			Double p99) {
+	}
+}
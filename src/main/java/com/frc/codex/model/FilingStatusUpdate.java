@@ -0,0 +1,14 @@
+package com.frc.codex.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/*
+ * A status to set on a filing. The filing date is the partition key, so that
+ * the update only probes the filing's partition.
+ */
+public record FilingStatusUpdate(
+		UUID filingId,
+		LocalDateTime filingDate,
+		String status) {
+}
@@ -0,0 +1,215 @@
+package com.frc.codex.model;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.UUID;
+
+/*
+ * Read model for search, listing and viewer lookups, holding only the columns
+ * they display or need to queue a filing for processing.
+ */
+public class FilingSummary {
+	private static final DateTimeFormatter DISPLAY_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	private final UUID filingId;
+	private final Timestamp discoveredDate;
+	private final String status;
+	private final String registryCode;
+	private final String downloadUrl;
+	private final String companyName;
+	private final String companyNumber;
+	private final String externalFilingId;
+	private final String externalViewUrl;
+	private final LocalDateTime filingDate;
+	private final LocalDateTime documentDate;
+	private final String stubViewerUrl;
+	private final String oimDirectory;
+
+	public FilingSummary(Builder b) {
+		this.filingId = b.filingId;
+		this.discoveredDate = b.discoveredDate;
+		this.status = b.status;
+		this.registryCode = b.registryCode;
+		this.downloadUrl = b.downloadUrl;
+		this.companyName = b.companyName;
+		this.companyNumber = b.companyNumber;
+		this.externalFilingId = b.externalFilingId;
+		this.externalViewUrl = b.externalViewUrl;
+		this.filingDate = b.filingDate;
+		this.documentDate = b.documentDate;
+		this.stubViewerUrl = b.stubViewerUrl;
+		this.oimDirectory = b.oimDirectory;
+	}
+
+	public String displayDocumentDate() {
+		if (documentDate == null) {
+			return "Available in viewer.";
+		}
+		return DISPLAY_DATE_FORMAT.format(documentDate);
+	}
+
+	public String displayFilingDate() {
+		if (filingDate == null) {
+			return "";
+		}
+		return DISPLAY_DATE_FORMAT.format(filingDate);
+	}
+
+	public UUID getFilingId() {
+		return filingId;
+	}
+
+	public Timestamp getDiscoveredDate() {
+		return discoveredDate;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public boolean isCompleted() {
+		return Objects.equals(status, FilingStatus.COMPLETED.toString());
+	}
+
+	public String getRegistryCode() {
+		return registryCode;
+	}
+
+	public String getDownloadUrl() {
+		return downloadUrl;
+	}
+
+	public String getCompanyName() {
+		return companyName;
+	}
+
+	public String getCompanyNumber() {
+		return companyNumber;
+	}
+
+	public LocalDateTime getFilingDate() {
+		return filingDate;
+	}
+
+	public String getStubViewerUrl() {
+		return stubViewerUrl;
+	}
+
+	public String getOimDirectory() {
+		return oimDirectory;
+	}
+
+	public String getXbrlCsvUrl() {
+		return "download/" + filingId.toString() + "/csv";
+	}
+
+	public String getXbrlJsonUrl() {
+		return "download/" + filingId.toString() + "/json";
+	}
+
+	public String getViewerLink() {
+		String path = isCompleted() ? stubViewerUrl : "viewer";
+		return "view/" + filingId.toString() + "/" + path;
+	}
+
+	public String getExternalViewUrl() {
+		if (getRegistryCode().equals(RegistryCode.FCA.getCode()) ){
+			return externalViewUrl;
+		}
+		else {
+			return "https://find-and-update.company-information.service.gov.uk/company/"
+					+ companyNumber + "/filing-history/" + externalFilingId
+					+ "/document?format=xhtml&download=0";
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static class Builder {
+		private UUID filingId;
+		private Timestamp discoveredDate;
+		private String status;
+		private String registryCode;
+		private String downloadUrl;
+		private String companyName;
+		private String companyNumber;
+		private String externalFilingId;
+		private String externalViewUrl;
+		private LocalDateTime filingDate;
+		private LocalDateTime documentDate;
+		private String stubViewerUrl;
+		private String oimDirectory;
+
+		public FilingSummary build() {
+			return new FilingSummary(this);
+		}
+
+		public Builder filingId(String filingId) {
+			this.filingId = UUID.fromString(filingId);
+			return this;
+		}
+
+		public Builder discoveredDate(Timestamp discoveredDate) {
+			this.discoveredDate = discoveredDate;
+			return this;
+		}
+
+		public Builder status(String status) {
+			this.status = status;
+			return this;
+		}
+
+		public Builder registryCode(String registryCode) {
+			this.registryCode = registryCode;
+			return this;
+		}
+
+		public Builder downloadUrl(String downloadUrl) {
+			this.downloadUrl = downloadUrl;
+			return this;
+		}
+
+		public Builder companyName(String companyName) {
+			this.companyName = companyName;
+			return this;
+		}
+
+		public Builder companyNumber(String companyNumber) {
+			this.companyNumber = companyNumber;
+			return this;
+		}
+
+		public Builder externalFilingId(String externalFilingId) {
+			this.externalFilingId = externalFilingId;
+			return this;
+		}
+
+		public Builder externalViewUrl(String externalViewUrl) {
+			this.externalViewUrl = externalViewUrl;
+			return this;
+		}
+
+		public Builder filingDate(LocalDateTime filingDate) {
+			this.filingDate = filingDate;
+			return this;
+		}
+
+		public Builder documentDate(LocalDateTime documentDate) {
+			this.documentDate = documentDate;
+			return this;
+		}
+
+		public Builder stubViewerUrl(String stubViewerUrl) {
+			this.stubViewerUrl = stubViewerUrl;
+			return this;
+		}
+
+		public Builder oimDirectory(String oimDirectory) {
+			this.oimDirectory = oimDirectory;
+			return this;
+		}
+	}
+}
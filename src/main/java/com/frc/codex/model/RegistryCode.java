@@ -32,4 +32,13 @@ public enum RegistryCode {
 	public String getCompanyFileReference() {
 		return companyFileReference;
 	}
+
+	public static RegistryCode fromCode(String code) {
+		for (RegistryCode registryCode : values()) {
+			if (registryCode.getCode().equals(code)) {
+				return registryCode;
+			}
+		}
+		return null;
+	}
 }
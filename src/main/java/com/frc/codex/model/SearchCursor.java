@@ -0,0 +1,57 @@
+package com.frc.codex.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/*
+ * Position of the last search result on a page, matching the search ordering
+ * of rank (if ranked), filing date and filing ID, along with the number of
+ * results before the next page, so that paging depth can be limited.
+ * Encoded as an opaque URL-safe token for "load more" links.
+ */
+public record SearchCursor(
+		Float rank,
+		LocalDateTime filingDate,
+		UUID filingId,
+		int offset) {
+	private static final String SEPARATOR = "|";
+
+	public String encode() {
+		String value = (rank == null ? "" : Float.toString(rank)) + SEPARATOR +
+				(filingDate == null ? "" : filingDate.toString()) + SEPARATOR +
+				filingId.toString() + SEPARATOR +
+				offset;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/*
+	 * Decodes a token produced by encode.
+	 * Returns null if the token is empty or malformed.
+	 */
+	public static SearchCursor decode(String token) {
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = value.split("\\|", -1);
+			if (parts.length != 4) {
+				return null;
+			}
+			int offset = Integer.parseInt(parts[3]);
+			if (offset < 0) {
+				return null;
+			}
+			return new SearchCursor(
+					parts[0].isEmpty() ? null : Float.parseFloat(parts[0]),
+					parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]),
+					UUID.fromString(parts[2]),
+					offset
+			);
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+}
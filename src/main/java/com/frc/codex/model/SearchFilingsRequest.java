@@ -8,6 +8,7 @@ import org.thymeleaf.util.StringUtils;
 
 public class SearchFilingsRequest {
 	private Boolean admin;
+	private String cursor;
 	private String searchText;
 	private long limit;
 	private Integer minDocumentDateDay;
@@ -49,9 +50,14 @@ public class SearchFilingsRequest {
 		return limit;
 	}
 
-	public String getLoadMoreLink(long pageSize, int lastResultIndex) {
+	public String getCursor() {
+		return cursor;
+	}
+
+	public String getLoadMoreLink(String nextCursor) {
 		String query = buildQuery("searchText", getSearchText()) +
-				buildQuery("limit", getLimit() + pageSize) +
+				buildQuery("limit", getLimit()) +
+				buildQuery("cursor", nextCursor) +
 				buildQuery("minDocumentDateDay", getMinDocumentDateDay()) +
 				buildQuery("minDocumentDateMonth", getMinDocumentDateMonth()) +
 				buildQuery("minDocumentDateYear", getMinDocumentDateYear()) +
@@ -66,7 +72,7 @@ public class SearchFilingsRequest {
 				buildQuery("maxFilingDateYear", getMaxFilingDateYear()) +
 				buildQuery("registryCode", getRegistryCode()) +
 				buildQuery("admin", getAdmin());
-		return ("/?" + query + "#result-" + lastResultIndex);
+		return ("/?" + query + "#result-0");
 	}
 
 	private String buildQuery(String paramName, Object paramValue) {
@@ -159,6 +165,10 @@ public class SearchFilingsRequest {
 		this.admin = admin;
 	}
 
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
 	public void setSearchText(String searchText) {
 		this.searchText = searchText;
 	}
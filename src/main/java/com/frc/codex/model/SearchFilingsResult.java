@@ -0,0 +1,12 @@
+package com.frc.codex.model;
+
+import java.util.List;
+
+/*
+ * A page of search results.
+ * The cursor is null when there are no further results.
+ */
+public record SearchFilingsResult(
+		List<FilingSummary> filings,
+		SearchCursor nextCursor) {
+}
@@ -3,6 +3,9 @@ package com.frc.codex.properties;
 import com.zaxxer.hikari.HikariConfig;
 
 public interface FilingIndexProperties {
+	String READ_POOL_NAME = "read";
+	String WRITE_POOL_NAME = "write";
+
 	String adminCookieName();
 	boolean adminEnabled();
 	String adminKey();
@@ -15,7 +18,12 @@ public interface FilingIndexProperties {
 	String companiesHouseRestApiKey();
 	String companiesHouseStreamApiBaseUrl();
 	String companiesHouseStreamApiKey();
+	/**
+	 * @return Whether the read pool connects to a replica rather than the primary.
+	 */
+	boolean dbReadReplica();
 	String dbSeedScriptPath();
+	long dbSlowQueryThresholdMillis();
 	String fcaDataApiBaseUrl();
 	int fcaPastDays();
 	String fcaSearchApiUrl();
@@ -29,6 +37,10 @@ public interface FilingIndexProperties {
 	boolean isDbMigrateAsync();
 	int lambdaPreprocessingConcurrency();
 	long maximumSearchResults();
+	/**
+	 * @return Minutes a filing can stay queued before it is assumed lost and returned to pending.
+	 */
+	long queuedFilingTimeoutMinutes();
 	String s3ResultsBucketName();
 	long searchPageSize();
 	String sqsJobsQueueName();
@@ -31,9 +31,12 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 	private static final String HTTP_USERNAME = "HTTP_USERNAME";
 	private static final String HTTP_PASSWORD = "HTTP_PASSWORD";
 	private static final String DB_URL = "DB_URL";
+	private static final String DB_READ_URL = "DB_READ_URL";
 	private static final String DB_USERNAME = "DB_USERNAME";
 	private static final String DB_PASSWORD = "DB_PASSWORD";
 	private static final String DB_MAX_LIFETIME = "DB_MAX_LIFETIME";
+	private static final String DB_PREPARE_THRESHOLD = "DB_PREPARE_THRESHOLD";
+	private static final String DB_SLOW_QUERY_THRESHOLD_MILLIS = "DB_SLOW_QUERY_THRESHOLD_MILLIS";
 	private static final String DB_SEED_SCRIPT_PATH = "DB_SEED_SCRIPT_PATH";
 	private static final String DB_HEALTH_CHECK_TIMEOUT = "DB_HEALTH_CHECK_TIMEOUT";
 	private static final String ENABLE_PREPROCESSING = "ENABLE_PREPROCESSING";
@@ -44,6 +47,7 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 	private static final String FILING_LIMIT_FCA = "FILING_LIMIT_FCA";
 	private static final String LAMBDA_PREPROCESSING_CONCURRENCY = "LAMBDA_PREPROCESSING_CONCURRENCY";
 	private static final String MAXIMUM_SEARCH_RESULTS = "MAXIMUM_SEARCH_RESULTS";
+	private static final String QUEUED_FILING_TIMEOUT_MINUTES = "QUEUED_FILING_TIMEOUT_MINUTES";
 	private static final String S3_RESULTS_BUCKET_NAME = "S3_RESULTS_BUCKET_NAME";
 	private static final String SEARCH_PAGE_SIZE = "SEARCH_PAGE_SIZE";
 	private static final String SECRETS_FILEPATH = "/run/secrets/frc-codex-server.secrets";
@@ -62,10 +66,13 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 	private final String companiesHouseStreamApiBaseUrl;
 	private final String companiesHouseStreamApiKey;
 	private final String dbUrl;
+	private final String dbReadUrl;
 	private final String dbUsername;
 	private final String dbPassword;
 	private final long dbMaxLifetime;
+	private final int dbPrepareThreshold;
 	private final String dbSeedScriptPath;
+	private final long dbSlowQueryThresholdMillis;
 	private final boolean enablePreprocessing;
 	private final String fcaDataApiBaseUrl;
 	private final int fcaPastDays;
@@ -77,6 +84,7 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 	private final long awsLambdaTimeoutSeconds;
 	private final int lambdaPreprocessingConcurrency;
 	private final long maximumSearchResults;
+	private final long queuedFilingTimeoutMinutes;
 	private final String s3ResultsBucketName;
 	private final long searchPageSize;
 	private final String sqsJobsQueueName;
@@ -104,10 +112,16 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 		companiesHouseRapidRateWindow = Integer.parseInt(requireNonNull(getEnv(COMPANIES_HOUSE_RAPID_RATE_WINDOW, "10000")));
 
 		dbUrl = requireNonNull(getEnv(DB_URL));
+		// Read pools connect to the primary unless a replica is configured
+		dbReadUrl = requireNonNull(getEnv(DB_READ_URL, dbUrl));
 		dbUsername = requireNonNull(getEnv(DB_USERNAME));
 		dbPassword = requireNonNull(getEnv(DB_PASSWORD));
 		dbMaxLifetime = Long.parseLong(requireNonNull(getEnv(DB_MAX_LIFETIME, "300000")));
+		// Statements executed this many times on a connection are prepared server-side (driver default 5)
+		dbPrepareThreshold = Integer.parseInt(requireNonNull(getEnv(DB_PREPARE_THRESHOLD, "3")));
 		dbSeedScriptPath = getEnv(DB_SEED_SCRIPT_PATH);
+		// Statements taking at least this long are logged with their SQL shape
+		dbSlowQueryThresholdMillis = Long.parseLong(requireNonNull(getEnv(DB_SLOW_QUERY_THRESHOLD_MILLIS, "500")));
 
 		enablePreprocessing = Boolean.parseBoolean(requireNonNull(getEnv(ENABLE_PREPROCESSING, "false")));
 
@@ -124,6 +138,8 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 		lambdaPreprocessingConcurrency = Integer.parseInt(requireNonNull(getEnv(LAMBDA_PREPROCESSING_CONCURRENCY, "1")));
 
 		maximumSearchResults = Long.parseLong(requireNonNull(getEnv(MAXIMUM_SEARCH_RESULTS, "100")));
+		// Queued filings not processed within this time are returned to pending
+		queuedFilingTimeoutMinutes = Long.parseLong(requireNonNull(getEnv(QUEUED_FILING_TIMEOUT_MINUTES, "360")));
 		searchPageSize = Long.parseLong(requireNonNull(getEnv(SEARCH_PAGE_SIZE, "10")));
 
 		s3ResultsBucketName = requireNonNull(getEnv(S3_RESULTS_BUCKET_NAME));
@@ -238,10 +254,18 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 		return companiesHouseStreamApiKey;
 	}
 
+	public boolean dbReadReplica() {
+		return !dbReadUrl.equals(dbUrl);
+	}
+
 	public String dbSeedScriptPath() {
 		return dbSeedScriptPath;
 	}
 
+	public long dbSlowQueryThresholdMillis() {
+		return dbSlowQueryThresholdMillis;
+	}
+
 	public boolean enablePreprocessing() {
 		return enablePreprocessing;
 	}
@@ -271,11 +295,12 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 		config.setInitializationFailTimeout(0);
 		// recommended is true but is turned off for rollback ability on error
 		config.setAutoCommit(false);
-		config.setJdbcUrl(dbUrl);
+		config.setJdbcUrl(READ_POOL_NAME.equals(poolName) ? dbReadUrl : dbUrl);
 		config.setUsername(dbUsername);
 		config.setPassword(dbPassword);
 		config.setMaxLifetime(dbMaxLifetime);
 		config.setPoolName(poolName);
+		config.addDataSourceProperty("prepareThreshold", dbPrepareThreshold);
 		return config;
 	}
 
@@ -303,6 +328,10 @@ public class FilingIndexPropertiesImpl implements FilingIndexProperties {
 		return maximumSearchResults;
 	}
 
+	public long queuedFilingTimeoutMinutes() {
+		return queuedFilingTimeoutMinutes;
+	}
+
 	public String s3ResultsBucketName() {
 		return s3ResultsBucketName;
 	}
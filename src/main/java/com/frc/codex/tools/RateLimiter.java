@@ -3,6 +3,7 @@ package com.frc.codex.tools;
 import java.sql.Timestamp;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,17 +14,27 @@ public class RateLimiter
 	protected final Queue<Timestamp> timestamps;
 	protected final int rapidRateLimit;
 	protected final int rapidRateWindow;
+	// A lock rather than synchronized, so that waiting virtual threads don't pin their carriers.
+	private final ReentrantLock lock;
 
 	public RateLimiter(int rapidRateLimit, int rapidRateWindow) {
 		this.rapidRateLimit = rapidRateLimit;
 		this.rapidRateWindow = rapidRateWindow;
 		this.timestamps = new ConcurrentLinkedQueue<>();
+		this.lock = new ReentrantLock(true);
+	}
+
+	public int getRapidRateLimit() {
+		return rapidRateLimit;
 	}
 
 	public void registerTimestamp() {
 		Timestamp now = new Timestamp(System.currentTimeMillis());
 		timestamps.add(now);
+		removeExpiredTimestamps(now);
+	}
 
+	private void removeExpiredTimestamps(Timestamp now) {
 		// Remove timestamps older than one minute
 		Timestamp oneMinuteAgo = new Timestamp(now.getTime() - rapidRateWindow);
 		while (!timestamps.isEmpty() && timestamps.peek().before(oneMinuteAgo)) {
@@ -31,18 +42,48 @@ public class RateLimiter
 		}
 	}
 
-	public synchronized void waitForRapidRateLimit() throws InterruptedException {
-		Timestamp now = new Timestamp(System.currentTimeMillis());
-		if (timestamps.size() >= rapidRateLimit) {
-			Timestamp oldest = timestamps.peek();
-			if (oldest == null) {
-				return;
-			}
-			long waitTime = rapidRateWindow - (now.getTime() - oldest.getTime());
-			if (waitTime > 0) {
+	public void waitForRapidRateLimit() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			Timestamp now = new Timestamp(System.currentTimeMillis());
+			if (timestamps.size() >= rapidRateLimit) {
+				Timestamp oldest = timestamps.peek();
+				if (oldest == null) {
+					return;
+				}
+				long waitTime = Math.max(1, rapidRateWindow - (now.getTime() - oldest.getTime()));
 				LOG.info("Waiting for rapid rate limit: {} ms", waitTime);
 				Thread.sleep(waitTime);
 			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * Waits until a request is allowed within the window and registers it.
+	 * Waiting and registering are a single step, so that concurrent callers
+	 * can't all see the same free slot and exceed the limit together.
+	 */
+	public void acquire() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				removeExpiredTimestamps(now);
+				Timestamp oldest = timestamps.peek();
+				if (timestamps.size() < rapidRateLimit || oldest == null) {
+					timestamps.add(now);
+					return;
+				}
+				long waitTime = rapidRateWindow - (now.getTime() - oldest.getTime());
+				if (waitTime > 0) {
+					LOG.info("Waiting for rapid rate limit: {} ms", waitTime);
+					Thread.sleep(waitTime);
+				}
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 }
@@ -0,0 +1,57 @@
+-- Counts are split across shards so that concurrent writers to a registry
+-- update different rows instead of queueing on one, and are summed on read.
+-- select sum(filing_count) from registry_counts where registry_code = $1
+CREATE TABLE IF NOT EXISTS registry_counts (
+    registry_code VARCHAR(20) NOT NULL,
+    shard SMALLINT NOT NULL,
+    filing_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (registry_code, shard)
+);
+
+-- Prevent filings from being inserted between the initial count and the trigger being created.
+LOCK TABLE filings IN SHARE MODE;
+
+INSERT INTO registry_counts (registry_code, shard, filing_count)
+SELECT registry_code, 0, COUNT(*) FROM filings GROUP BY registry_code;
+
+-- Statement-level triggers apply one update per registry for each statement,
+-- rather than one per row. Each session writes to the shard of its backend, and
+-- upserts rows in key order so that sessions sharing a shard can't deadlock.
+CREATE FUNCTION filings_registry_counts_insert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO registry_counts (registry_code, shard, filing_count)
+    SELECT registry_code, pg_backend_pid() % 16, COUNT(*) FROM new_rows GROUP BY registry_code ORDER BY registry_code
+    ON CONFLICT (registry_code, shard) DO UPDATE SET filing_count = registry_counts.filing_count + EXCLUDED.filing_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION filings_registry_counts_delete() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO registry_counts (registry_code, shard, filing_count)
+    SELECT registry_code, pg_backend_pid() % 16, -COUNT(*) FROM old_rows GROUP BY registry_code ORDER BY registry_code
+    ON CONFLICT (registry_code, shard) DO UPDATE SET filing_count = registry_counts.filing_count + EXCLUDED.filing_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TRUNCATE does not fire insert or delete triggers.
+CREATE FUNCTION filings_registry_counts_truncate() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM registry_counts;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER filings_registry_counts_insert
+    AFTER INSERT ON filings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_insert();
+CREATE TRIGGER filings_registry_counts_delete
+    AFTER DELETE ON filings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_delete();
+CREATE TRIGGER filings_registry_counts_truncate
+    AFTER TRUNCATE ON filings
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_truncate();
@@ -0,0 +1,2 @@
+-- select ... from filings where status = $1 and filing_id > $2 order by filing_id limit $3
+CREATE INDEX filings_status_filing_id_idx ON filings (status, filing_id);
@@ -0,0 +1,9 @@
+-- Stored search vector so that matching and ranking don't recompute it per row.
+ALTER TABLE filings ADD COLUMN company_name_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(company_name, ''))) STORED;
+CREATE INDEX filings_company_name_tsv_idx ON filings USING GIN (company_name_tsv);
+DROP INDEX IF EXISTS company_name_tsv_idx;
+
+-- Trigram index for partial (ILIKE) and fuzzy (%>) company name matches.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX filings_company_name_trgm_idx ON filings USING GIN (company_name gin_trgm_ops);
@@ -0,0 +1,154 @@
+-- Partitions filings by filing_date so that index maintenance is limited to the
+-- current partition and date-filtered searches only scan matching partitions.
+-- Filings without a filing date are kept in the default partition.
+
+-- Unique constraints on a partitioned table must include the partition key, so
+-- global uniqueness of filing IDs and external filing IDs moves to filing_keys.
+LOCK TABLE filings IN ACCESS EXCLUSIVE MODE;
+
+CREATE TABLE IF NOT EXISTS filing_keys (
+    filing_id uuid NOT NULL DEFAULT gen_random_uuid(),
+    registry_code VARCHAR(20) NOT NULL,
+    external_filing_id VARCHAR(50),
+
+    PRIMARY KEY (filing_id)
+);
+INSERT INTO filing_keys (filing_id, registry_code, external_filing_id)
+SELECT filing_id, registry_code, external_filing_id FROM filings;
+-- insert into filing_keys (...) values (...) on conflict (registry_code, external_filing_id) do nothing
+CREATE UNIQUE INDEX filing_keys_registry_code_external_filing_id_idx ON filing_keys (registry_code, external_filing_id);
+
+ALTER TABLE filings RENAME TO filings_unpartitioned;
+
+CREATE TABLE filings (
+    -- Database-generated fields
+    filing_id uuid NOT NULL,
+    discovered_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Required fields
+    status VARCHAR(50) NOT NULL,
+    registry_code VARCHAR(20) NOT NULL,
+    download_url VARCHAR(500) NOT NULL,
+    -- Fields that may or may not be known before processing
+    company_name VARCHAR(500),
+    company_number VARCHAR(20),
+    external_filing_id VARCHAR(50),
+    external_view_url VARCHAR(500),
+    filename VARCHAR(255),
+    filing_type VARCHAR(20),
+    filing_date TIMESTAMP,
+    document_date TIMESTAMP,
+    stream_timepoint BIGINT,
+    -- Result assets
+    error TEXT,
+    logs TEXT,
+    stub_viewer_url VARCHAR(500),
+    oim_directory VARCHAR(100),
+    -- Analytics
+    download_time DOUBLE PRECISION,
+    upload_time DOUBLE PRECISION,
+    worker_time DOUBLE PRECISION,
+    total_processing_time DOUBLE PRECISION,
+    total_uploaded_bytes BIGINT,
+    result_timestamp TIMESTAMPTZ,
+    -- Search
+    company_name_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('english', coalesce(company_name, ''))) STORED
+) PARTITION BY RANGE (filing_date);
+
+CREATE TABLE filings_default PARTITION OF filings DEFAULT;
+
+-- select create_filings_partition(year)
+-- Partitions must exist before filings for their year arrive, otherwise rows land
+-- in the default partition and creating the partition later requires moving them.
+CREATE FUNCTION create_filings_partition(year INTEGER) RETURNS void AS $$
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF filings FOR VALUES FROM (%L) TO (%L)',
+        'filings_' || year,
+        make_timestamp(year, 1, 1, 0, 0, 0),
+        make_timestamp(year + 1, 1, 1, 0, 0, 0)
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    current_year INTEGER := EXTRACT(YEAR FROM CURRENT_DATE);
+    first_year INTEGER;
+BEGIN
+    SELECT LEAST(COALESCE(EXTRACT(YEAR FROM MIN(filing_date)), current_year), current_year)
+    INTO first_year
+    FROM filings_unpartitioned;
+    FOR year IN first_year..current_year + 1 LOOP
+        PERFORM create_filings_partition(year);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO filings (
+    filing_id, discovered_date, status, registry_code, download_url,
+    company_name, company_number, external_filing_id, external_view_url, filename,
+    filing_type, filing_date, document_date, stream_timepoint, error,
+    logs, stub_viewer_url, oim_directory, download_time, upload_time,
+    worker_time, total_processing_time, total_uploaded_bytes, result_timestamp
+)
+SELECT
+    filing_id, discovered_date, status, registry_code, download_url,
+    company_name, company_number, external_filing_id, external_view_url, filename,
+    filing_type, filing_date, document_date, stream_timepoint, error,
+    logs, stub_viewer_url, oim_directory, download_time, upload_time,
+    worker_time, total_processing_time, total_uploaded_bytes, result_timestamp
+FROM filings_unpartitioned;
+
+-- Drops the previous indexes and triggers along with the table, so their names can be reused.
+DROP TABLE filings_unpartitioned;
+
+-- Indexes are created on each partition.
+-- select * from filings where filing_id = $1
+CREATE INDEX filings_filing_id_idx ON filings (filing_id);
+CREATE INDEX company_name_idx ON filings (company_name);
+CREATE INDEX company_number_idx ON filings (company_number);
+CREATE INDEX filings_company_name_tsv_idx ON filings USING GIN (company_name_tsv);
+CREATE INDEX filings_company_name_trgm_idx ON filings USING GIN (company_name gin_trgm_ops);
+CREATE INDEX filings_registry_code_idx ON filings (registry_code);
+CREATE INDEX filings_company_number_filing_date_idx ON filings (company_number, filing_date desc);
+CREATE INDEX filings_document_date_idx ON filings (document_date);
+CREATE INDEX filings_filing_date_idx ON filings (filing_date);
+CREATE INDEX filings_registry_code_external_filing_id_idx ON filings (registry_code, external_filing_id) INCLUDE (filing_id);
+CREATE INDEX filings_stream_timepoint_idx ON filings (stream_timepoint);
+CREATE INDEX filings_status_filing_id_idx ON filings (status, filing_id);
+
+-- Registry counts are unchanged by the copy, so the triggers are recreated afterwards.
+CREATE TRIGGER filings_registry_counts_insert
+    AFTER INSERT ON filings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_insert();
+CREATE TRIGGER filings_registry_counts_delete
+    AFTER DELETE ON filings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_delete();
+CREATE TRIGGER filings_registry_counts_truncate
+    AFTER TRUNCATE ON filings
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_registry_counts_truncate();
+
+CREATE FUNCTION filings_filing_keys_delete() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM filing_keys WHERE filing_id = OLD.filing_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER filings_filing_keys_delete
+    AFTER DELETE ON filings
+    FOR EACH ROW EXECUTE FUNCTION filings_filing_keys_delete();
+
+CREATE FUNCTION filings_filing_keys_truncate() RETURNS trigger AS $$
+BEGIN
+    TRUNCATE filing_keys;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER filings_filing_keys_truncate
+    AFTER TRUNCATE ON filings
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_filing_keys_truncate();
@@ -0,0 +1,38 @@
+-- Processing output is only read by admin views, so it is kept out of the filings
+-- rows read by search, listings and status polling.
+-- select error, logs from filing_results where filing_id = $1
+CREATE TABLE IF NOT EXISTS filing_results (
+    filing_id uuid NOT NULL REFERENCES filing_keys (filing_id) ON DELETE CASCADE,
+    error TEXT,
+    logs TEXT,
+    updated_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (filing_id)
+);
+
+-- Logs are large and repetitive, so compress them with lz4 where the server supports it.
+DO $$
+BEGIN
+    ALTER TABLE filing_results ALTER COLUMN logs SET COMPRESSION lz4;
+    ALTER TABLE filing_results ALTER COLUMN error SET COMPRESSION lz4;
+EXCEPTION WHEN feature_not_supported THEN
+    RAISE NOTICE 'lz4 compression is not supported, using default compression.';
+END;
+$$;
+
+INSERT INTO filing_results (filing_id, error, logs, updated_date)
+SELECT filing_id, error, logs, COALESCE(result_timestamp, CURRENT_TIMESTAMP)
+FROM filings
+WHERE error IS NOT NULL OR logs IS NOT NULL;
+
+ALTER TABLE filings
+    DROP COLUMN error,
+    DROP COLUMN logs;
+
+-- Truncating filing_keys must now also truncate the results that reference it.
+CREATE OR REPLACE FUNCTION filings_filing_keys_truncate() RETURNS trigger AS $$
+BEGIN
+    TRUNCATE filing_keys, filing_results;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,17 @@
+-- Stream indexers record the last processed timepoint here, including events that
+-- did not create a filing, so that restarts resume where processing stopped.
+-- select timepoint from stream_checkpoints where stream_name = $1
+CREATE TABLE IF NOT EXISTS stream_checkpoints (
+    stream_name VARCHAR(50) NOT NULL,
+    timepoint BIGINT NOT NULL,
+    updated_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (stream_name)
+);
+
+-- Start from the latest filing discovered from the stream, as before.
+INSERT INTO stream_checkpoints (stream_name, timepoint)
+SELECT 'companies_house_filings', MAX(stream_timepoint)
+FROM filings
+WHERE stream_timepoint IS NOT NULL
+HAVING MAX(stream_timepoint) IS NOT NULL;
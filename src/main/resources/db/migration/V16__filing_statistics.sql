@@ -0,0 +1,37 @@
+-- Admin statistics are read from materialized views refreshed periodically by the
+-- application, so rendering them doesn't scan or load the filings table.
+
+-- select registry_code, status, filing_count from filing_status_counts
+CREATE MATERIALIZED VIEW filing_status_counts AS
+SELECT registry_code, status, COUNT(*) AS filing_count
+FROM filings
+GROUP BY registry_code, status;
+
+-- Required to refresh concurrently.
+CREATE UNIQUE INDEX filing_status_counts_registry_code_status_idx ON filing_status_counts (registry_code, status);
+
+-- Only filings with a result in the last week are aggregated.
+-- select * from filings where result_timestamp >= $1
+CREATE INDEX filings_result_timestamp_idx ON filings (result_timestamp);
+
+-- select * from filing_processing_statistics
+CREATE MATERIALIZED VIEW filing_processing_statistics AS
+SELECT
+    registry_code,
+    COUNT(*) FILTER (WHERE status = 'completed' AND result_timestamp >= now() - INTERVAL '1 hour') AS completed_last_hour,
+    COUNT(*) FILTER (WHERE status = 'completed' AND result_timestamp >= now() - INTERVAL '1 day') AS completed_last_day,
+    COUNT(*) FILTER (WHERE status = 'completed') AS completed_last_week,
+    COUNT(*) FILTER (WHERE status = 'failed' AND result_timestamp >= now() - INTERVAL '1 day') AS failed_last_day,
+    COUNT(*) FILTER (WHERE status = 'failed') AS failed_last_week,
+    percentile_cont(ARRAY[0.5, 0.95, 0.99]) WITHIN GROUP (ORDER BY download_time)
+        FILTER (WHERE status = 'completed') AS download_time_percentiles,
+    percentile_cont(ARRAY[0.5, 0.95, 0.99]) WITHIN GROUP (ORDER BY worker_time)
+        FILTER (WHERE status = 'completed') AS worker_time_percentiles,
+    percentile_cont(ARRAY[0.5, 0.95, 0.99]) WITHIN GROUP (ORDER BY total_processing_time)
+        FILTER (WHERE status = 'completed') AS total_processing_time_percentiles,
+    now() AS refreshed_date
+FROM filings
+WHERE result_timestamp >= now() - INTERVAL '7 days'
+GROUP BY registry_code;
+
+CREATE UNIQUE INDEX filing_processing_statistics_registry_code_idx ON filing_processing_statistics (registry_code);
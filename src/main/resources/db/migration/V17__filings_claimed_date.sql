@@ -0,0 +1,7 @@
+-- Filings are claimed by setting their status to queued. The claim time is recorded
+-- so that filings left queued by an instance that stopped can be returned to pending.
+-- update filings set status = 'pending' where status = 'queued' and claimed_date < $1
+ALTER TABLE filings ADD COLUMN claimed_date TIMESTAMPTZ;
+
+-- Filings already queued are treated as claimed now.
+UPDATE filings SET claimed_date = CURRENT_TIMESTAMP WHERE status = 'queued';
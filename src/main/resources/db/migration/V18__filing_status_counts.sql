@@ -0,0 +1,83 @@
+-- Status counts are maintained by statement-level triggers, split across shards
+-- like registry_counts, rather than by a materialized view that rescans filings
+-- on every refresh.
+-- select registry_code, status, sum(filing_count) from filing_status_counts group by registry_code, status
+DROP MATERIALIZED VIEW filing_status_counts;
+
+CREATE TABLE filing_status_counts (
+    registry_code VARCHAR(20) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    shard SMALLINT NOT NULL,
+    filing_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (registry_code, status, shard)
+);
+
+-- Prevent filings from being changed between the initial count and the triggers being created.
+LOCK TABLE filings IN SHARE MODE;
+
+INSERT INTO filing_status_counts (registry_code, status, shard, filing_count)
+SELECT registry_code, status, 0, COUNT(*) FROM filings GROUP BY registry_code, status;
+
+-- Rows are upserted in key order so that sessions sharing a shard can't deadlock.
+CREATE FUNCTION filings_status_counts_insert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO filing_status_counts (registry_code, status, shard, filing_count)
+    SELECT registry_code, status, pg_backend_pid() % 16, COUNT(*) FROM new_rows
+    GROUP BY registry_code, status
+    ORDER BY registry_code, status
+    ON CONFLICT (registry_code, status, shard) DO UPDATE SET filing_count = filing_status_counts.filing_count + EXCLUDED.filing_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Updates that don't change a status cancel out and write nothing.
+CREATE FUNCTION filings_status_counts_update() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO filing_status_counts (registry_code, status, shard, filing_count)
+    SELECT registry_code, status, pg_backend_pid() % 16, SUM(delta) FROM (
+        SELECT registry_code, status, 1 AS delta FROM new_rows
+        UNION ALL
+        SELECT registry_code, status, -1 AS delta FROM old_rows
+    ) changes
+    GROUP BY registry_code, status
+    HAVING SUM(delta) <> 0
+    ORDER BY registry_code, status
+    ON CONFLICT (registry_code, status, shard) DO UPDATE SET filing_count = filing_status_counts.filing_count + EXCLUDED.filing_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION filings_status_counts_delete() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO filing_status_counts (registry_code, status, shard, filing_count)
+    SELECT registry_code, status, pg_backend_pid() % 16, -COUNT(*) FROM old_rows
+    GROUP BY registry_code, status
+    ORDER BY registry_code, status
+    ON CONFLICT (registry_code, status, shard) DO UPDATE SET filing_count = filing_status_counts.filing_count + EXCLUDED.filing_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION filings_status_counts_truncate() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM filing_status_counts;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER filings_status_counts_insert
+    AFTER INSERT ON filings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_status_counts_insert();
+CREATE TRIGGER filings_status_counts_update
+    AFTER UPDATE ON filings
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_status_counts_update();
+CREATE TRIGGER filings_status_counts_delete
+    AFTER DELETE ON filings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_status_counts_delete();
+CREATE TRIGGER filings_status_counts_truncate
+    AFTER TRUNCATE ON filings
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_status_counts_truncate();
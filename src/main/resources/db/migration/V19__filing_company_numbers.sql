@@ -0,0 +1,52 @@
+-- Distinct company numbers that have filings, maintained by triggers, so that the
+-- company number filter can be built without scanning every filings partition.
+-- Numbers are kept when their filings are deleted, as the filter only needs a superset.
+-- select company_number from filing_company_numbers
+-- select company_number from filing_company_numbers where created_date >= $1
+CREATE TABLE filing_company_numbers (
+    company_number VARCHAR(20) NOT NULL,
+    created_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (company_number)
+);
+CREATE INDEX filing_company_numbers_created_date_idx ON filing_company_numbers (created_date);
+
+-- Prevent filings from being changed between the initial copy and the triggers being created.
+LOCK TABLE filings IN SHARE MODE;
+
+INSERT INTO filing_company_numbers (company_number)
+SELECT DISTINCT company_number FROM filings WHERE company_number IS NOT NULL;
+
+CREATE FUNCTION filings_company_numbers_insert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO filing_company_numbers (company_number)
+    SELECT DISTINCT company_number FROM new_rows
+    WHERE company_number IS NOT NULL
+    ORDER BY company_number
+    ON CONFLICT (company_number) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Results may fill in a company number that wasn't known when the filing was discovered.
+CREATE FUNCTION filings_company_numbers_update() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO filing_company_numbers (company_number)
+    SELECT DISTINCT new_rows.company_number FROM new_rows
+    JOIN old_rows ON old_rows.filing_id = new_rows.filing_id
+    WHERE new_rows.company_number IS NOT NULL
+        AND new_rows.company_number IS DISTINCT FROM old_rows.company_number
+    ORDER BY new_rows.company_number
+    ON CONFLICT (company_number) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER filings_company_numbers_insert
+    AFTER INSERT ON filings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_company_numbers_insert();
+CREATE TRIGGER filings_company_numbers_update
+    AFTER UPDATE ON filings
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION filings_company_numbers_update();
@@ -0,0 +1,61 @@
+-- Creating a partition fails while the default partition holds rows in its range,
+-- which happens when filings dated next year arrive before its partition exists.
+-- Such rows are now moved out of the default partition and reinserted once the
+-- partition is created. Returns the number of filings moved.
+-- select create_filings_partition(year)
+DROP FUNCTION create_filings_partition(INTEGER);
+
+CREATE FUNCTION create_filings_partition(year INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT := 'filings_' || year;
+    range_start TIMESTAMP := make_timestamp(year, 1, 1, 0, 0, 0);
+    range_end TIMESTAMP := make_timestamp(year + 1, 1, 1, 0, 0, 0);
+    filing_columns TEXT;
+    moved_count INTEGER;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+    -- Blocks writes to the default partition until the rows are moved, and
+    -- serializes instances creating the same partition.
+    LOCK TABLE filings_default IN SHARE ROW EXCLUSIVE MODE;
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    CREATE TEMPORARY TABLE moved_filings AS
+    SELECT * FROM filings_default WHERE filing_date >= range_start AND filing_date < range_end;
+    GET DIAGNOSTICS moved_count = ROW_COUNT;
+
+    IF moved_count > 0 THEN
+        -- Deleting filings also deletes their keys and results, so they are copied first.
+        -- Deletes and inserts go through filings so that the trigger-maintained counts balance.
+        CREATE TEMPORARY TABLE moved_filing_keys AS
+        SELECT * FROM filing_keys WHERE filing_id IN (SELECT filing_id FROM moved_filings);
+        CREATE TEMPORARY TABLE moved_filing_results AS
+        SELECT * FROM filing_results WHERE filing_id IN (SELECT filing_id FROM moved_filings);
+        DELETE FROM filings WHERE filing_date >= range_start AND filing_date < range_end;
+    END IF;
+
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF filings FOR VALUES FROM (%L) TO (%L)',
+        partition_name,
+        range_start,
+        range_end
+    );
+
+    IF moved_count > 0 THEN
+        -- Generated columns can't be inserted, so only stored columns are copied.
+        SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum)
+        INTO filing_columns
+        FROM pg_attribute
+        WHERE attrelid = 'filings'::regclass AND attnum > 0 AND NOT attisdropped AND attgenerated = '';
+        INSERT INTO filing_keys SELECT * FROM moved_filing_keys;
+        EXECUTE format('INSERT INTO filings (%s) SELECT %s FROM moved_filings', filing_columns, filing_columns);
+        INSERT INTO filing_results SELECT * FROM moved_filing_results;
+        DROP TABLE moved_filing_keys, moved_filing_results;
+    END IF;
+    DROP TABLE moved_filings;
+    RETURN moved_count;
+END;
+$$ LANGUAGE plpgsql;
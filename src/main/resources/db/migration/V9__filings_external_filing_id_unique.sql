@@ -0,0 +1,16 @@
+-- insert into filings (...) values (...) on conflict (registry_code, external_filing_id) do nothing
+-- Concurrent indexers could previously race past the existence check, so remove duplicates first.
+-- A completed duplicate is preferred, otherwise the earliest discovered filing is kept.
+DELETE FROM filings f
+USING (
+    SELECT filing_id, ROW_NUMBER() OVER (
+        PARTITION BY registry_code, external_filing_id
+        ORDER BY (status = 'completed') DESC, discovered_date, filing_id
+    ) AS row_number
+    FROM filings
+    WHERE external_filing_id IS NOT NULL
+) duplicates
+WHERE f.filing_id = duplicates.filing_id AND duplicates.row_number > 1;
+
+DROP INDEX filings_registry_code_external_filing_id_idx;
+CREATE UNIQUE INDEX filings_registry_code_external_filing_id_idx ON filings (registry_code, external_filing_id) INCLUDE (filing_id);
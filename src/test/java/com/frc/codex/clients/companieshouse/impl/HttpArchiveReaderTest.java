@@ -0,0 +1,156 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Runs the reader against a local HTTP server standing in for the Companies House
+ * download site, which can drop connections part way through a response.
+ */
+public class HttpArchiveReaderTest {
+	private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+	private static final Duration TIMEOUT = Duration.ofSeconds(1);
+	// Enough entries that the central directory extends beyond the requested tail.
+	private static final int ENTRY_COUNT = 2000;
+	private static final int ENTRY_SIZE = 4 * 1024;
+	private static byte[] archive;
+	private static List<String> entryNames;
+	private final AtomicLong bytesServed = new AtomicLong();
+	private final AtomicInteger responsesToDrop = new AtomicInteger();
+	private boolean supportsRanges;
+	private volatile String etag;
+	private boolean changeAfterResponse;
+	private HttpServer server;
+	private URI uri;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		if (archive == null) {
+			createArchive();
+		}
+		supportsRanges = true;
+		etag = "\"v1\"";
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/archive.zip", this::handle);
+		server.start();
+		uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/archive.zip");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private static void createArchive() throws IOException {
+		Random random = new Random(0);
+		entryNames = new ArrayList<>();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+			for (int i = 0; i < ENTRY_COUNT; i++) {
+				String name = String.format("Prod223_3785_%08d_20240331.html", i);
+				byte[] content = new byte[ENTRY_SIZE];
+				random.nextBytes(content);
+				zipOutputStream.putNextEntry(new ZipEntry(name));
+				zipOutputStream.write(content);
+				zipOutputStream.closeEntry();
+				entryNames.add(name);
+			}
+		}
+		archive = outputStream.toByteArray();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int start = 0;
+		int end = archive.length - 1;
+		int status = 200;
+		String range = exchange.getRequestHeaders().getFirst("Range");
+		String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+		Matcher matcher = range == null ? null : RANGE_PATTERN.matcher(range);
+		exchange.getResponseHeaders().add("ETag", etag);
+		// A range conditional on a different version of the archive is served in full.
+		boolean rangeValid = ifRange == null || ifRange.equals(etag);
+		if (supportsRanges && rangeValid && matcher != null && matcher.matches()) {
+			if (matcher.group(1).isEmpty()) {
+				start = Math.max(0, archive.length - Integer.parseInt(matcher.group(2)));
+			} else {
+				start = Integer.parseInt(matcher.group(1));
+				if (!matcher.group(2).isEmpty()) {
+					end = Math.min(end, Integer.parseInt(matcher.group(2)));
+				}
+			}
+			if (start >= archive.length) {
+				exchange.sendResponseHeaders(416, -1);
+				exchange.close();
+				return;
+			}
+			status = 206;
+			exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + archive.length);
+		}
+		int length = end - start + 1;
+		exchange.sendResponseHeaders(status, length);
+		// A dropped response only sends half of its content and then stalls.
+		// Only conditional ranges, which are resumable, are dropped.
+		boolean drop = status == 206 && ifRange != null && length > 1024 &&
+				responsesToDrop.getAndUpdate(count -> Math.max(0, count - 1)) > 0;
+		int sentLength = drop ? length / 2 : length;
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(archive, start, sentLength);
+			bytesServed.addAndGet(sentLength);
+		} catch (IOException e) {
+			// Closing a response with content missing fails.
+		}
+		if (changeAfterResponse) {
+			etag = "\"v2\"";
+		}
+	}
+
+	@Test
+	public void listsEntriesFromCentralDirectory() throws IOException {
+		assertEquals(entryNames, new HttpArchiveReader(3, TIMEOUT).listEntries(uri));
+		assertTrue(bytesServed.get() < archive.length / 10);
+	}
+
+	@Test
+	public void scansEntriesWithoutRangeSupport() throws IOException {
+		supportsRanges = false;
+		assertEquals(entryNames, new HttpArchiveReader(3, TIMEOUT).listEntries(uri));
+	}
+
+	@Test
+	public void resumesDroppedCentralDirectoryRange() throws IOException {
+		responsesToDrop.set(1);
+		assertEquals(entryNames, new HttpArchiveReader(3, TIMEOUT).listEntries(uri));
+		assertEquals(0, responsesToDrop.get());
+	}
+
+	@Test
+	public void failsWhenArchiveChangesWhileBeingRead() {
+		changeAfterResponse = true;
+		IOException e = assertThrows(IOException.class, () -> new HttpArchiveReader(3, TIMEOUT).listEntries(uri));
+		assertTrue(e.getMessage().startsWith("Archive changed"));
+	}
+}
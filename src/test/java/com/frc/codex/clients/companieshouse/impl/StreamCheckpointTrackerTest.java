@@ -0,0 +1,24 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamCheckpointTrackerTest {
+	@Test
+	public void completesTimepointsInReadOrder() {
+		StreamCheckpointTracker tracker = new StreamCheckpointTracker();
+		long first = tracker.register();
+		long second = tracker.register();
+		long third = tracker.register();
+		tracker.complete(third, 103);
+		tracker.complete(second, 102);
+		assertNull(tracker.getCompletedTimepoint());
+		assertEquals(3, tracker.getPendingCount());
+		tracker.complete(first, 101);
+		assertEquals(Long.valueOf(103), tracker.getCompletedTimepoint());
+		assertEquals(3, tracker.getCompletedCount());
+		assertEquals(0, tracker.getPendingCount());
+	}
+}
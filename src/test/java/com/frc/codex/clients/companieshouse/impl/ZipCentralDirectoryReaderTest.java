@@ -0,0 +1,61 @@
+package com.frc.codex.clients.companieshouse.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ZipCentralDirectoryReaderTest {
+	private long bytesRead;
+
+	private byte[] createArchive(List<String> names, String comment, int entrySize) throws IOException {
+		Random random = new Random(0);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+			zipOutputStream.setComment(comment);
+			for (String name : names) {
+				byte[] content = new byte[entrySize];
+				random.nextBytes(content);
+				zipOutputStream.putNextEntry(new ZipEntry(name));
+				zipOutputStream.write(content);
+				zipOutputStream.closeEntry();
+			}
+		}
+		return outputStream.toByteArray();
+	}
+
+	private List<String> readEntryNames(byte[] archive) throws IOException {
+		return new ZipCentralDirectoryReader((offset, length) -> {
+			bytesRead += length;
+			return new ByteArrayInputStream(archive, (int) offset, (int) length);
+		}, archive.length).readEntryNames();
+	}
+
+	@Test
+	public void readsEntryNames() throws IOException {
+		List<String> names = List.of("Prod223_3785_13056435_20240331.html", "Prod223_3785_00000001_20240331.xml");
+		byte[] archive = createArchive(names, "Accounts data", 1024 * 1024);
+		assertEquals(names, readEntryNames(archive));
+		// Only the end of the archive is read.
+		assertTrue(bytesRead < 100 * 1024);
+	}
+
+	@Test
+	public void readsZip64EntryNames() throws IOException {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 70000; i++) {
+			names.add(String.format("Prod223_3785_%08d_20240331.html", i));
+		}
+		byte[] archive = createArchive(names, "", 0);
+		assertEquals(names, readEntryNames(archive));
+	}
+}
@@ -0,0 +1,72 @@
+package com.frc.codex.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CompanyNumberCacheTest {
+	private Set<String> database;
+	private AtomicInteger loads;
+	private CompanyNumberCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		database = new HashSet<>(List.of("00000001", "00000002"));
+		loads = new AtomicInteger(0);
+		cache = new CompanyNumberCache(companyNumber -> {
+			loads.incrementAndGet();
+			return database.contains(companyNumber);
+		}, 100, Duration.ofMinutes(10));
+	}
+
+	private void rebuild() {
+		cache.rebuild(database.size(), consumer -> database.forEach(consumer));
+	}
+
+	@Test
+	public void verifiesBeforeWarm() {
+		assertFalse(cache.isWarm());
+		assertTrue(cache.contains("00000001"));
+		assertTrue(cache.contains("00000001"));
+		assertFalse(cache.contains("99999999"));
+		assertFalse(cache.contains("99999999"));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void filterAnswersNegativesAfterWarm() {
+		rebuild();
+		assertTrue(cache.isWarm());
+		for (int i = 0; i < 100; i++) {
+			cache.contains(String.format("X%07d", i));
+		}
+		// Only Bloom filter false positives should reach the loader.
+		assertTrue(loads.get() < 10);
+	}
+
+	@Test
+	public void addedNumbersAreKnown() {
+		rebuild();
+		database.add("00000003");
+		cache.add("00000003");
+		assertTrue(cache.contains("00000003"));
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	public void rebuildClearsNegativeResults() {
+		assertFalse(cache.contains("00000003"));
+		database.add("00000003");
+		rebuild();
+		assertTrue(cache.contains("00000003"));
+	}
+}
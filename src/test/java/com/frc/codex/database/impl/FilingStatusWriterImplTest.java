@@ -0,0 +1,75 @@
+package com.frc.codex.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.frc.codex.model.FilingStatusUpdate;
+
+public class FilingStatusWriterImplTest {
+	private static final UUID FILING_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+	private static final UUID FILING_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+	private static final LocalDateTime FILING_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private List<List<FilingStatusUpdate>> batches;
+	private boolean failing;
+	private FilingStatusWriterImpl writer;
+
+	@BeforeEach
+	public void setUp() {
+		batches = new ArrayList<>();
+		failing = false;
+		writer = new FilingStatusWriterImpl(new TestDatabaseManagerImpl() {
+			@Override
+			public int updateFilingStatuses(List<FilingStatusUpdate> updates) {
+				if (failing) {
+					throw new RuntimeException("Database unavailable");
+				}
+				batches.add(List.copyOf(updates));
+				return updates.size();
+			}
+		});
+	}
+
+	@Test
+	public void coalescesUpdatesIntoOneBatch() {
+		writer.write(FILING_A, FILING_DATE, "queued");
+		writer.write(FILING_B, null, "queued");
+		writer.write(FILING_A, FILING_DATE, "pending");
+		assertEquals(0, batches.size());
+		writer.flush();
+		assertEquals(List.of(List.of(
+				new FilingStatusUpdate(FILING_A, FILING_DATE, "pending"),
+				new FilingStatusUpdate(FILING_B, null, "queued")
+		)), batches);
+		writer.flush();
+		assertEquals(1, batches.size());
+	}
+
+	@Test
+	public void keepsFailedUpdatesForNextFlush() {
+		writer.write(FILING_A, FILING_DATE, "queued");
+		failing = true;
+		assertThrows(RuntimeException.class, writer::flush);
+		writer.write(FILING_B, null, "pending");
+		failing = false;
+		writer.close();
+		assertEquals(List.of(List.of(
+				new FilingStatusUpdate(FILING_A, FILING_DATE, "queued"),
+				new FilingStatusUpdate(FILING_B, null, "pending")
+		)), batches);
+	}
+
+	@Test
+	public void rejectsWritesAfterClose() {
+		writer.close();
+		assertThrows(IllegalStateException.class, () -> writer.write(FILING_A, FILING_DATE, "pending"));
+		assertEquals(0, batches.size());
+	}
+}
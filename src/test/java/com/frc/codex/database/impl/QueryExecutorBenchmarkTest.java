@@ -0,0 +1,97 @@
+package com.frc.codex.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Compares the previous unclosed statement pattern with the driver's default
+ * statement settings against QueryExecutor with the configured prepare threshold.
+ * Excluded from the test task, and only runs against a real database, e.g.:
+ * BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/frc_codex BENCHMARK_DB_USERNAME=... BENCHMARK_DB_PASSWORD=... ./gradlew benchmark
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+public class QueryExecutorBenchmarkTest {
+	private static final Logger LOG = LoggerFactory.getLogger(QueryExecutorBenchmarkTest.class);
+	private static final int ITERATIONS = 20000;
+	private static final int WARMUP_ITERATIONS = 2000;
+	private static final String SQL = "SELECT n, md5(n::text) FROM generate_series(1, ?) n WHERE n % 2 = 0";
+
+	private HikariDataSource createDataSource(Integer prepareThreshold) {
+		HikariConfig config = new HikariConfig();
+		config.setAutoCommit(false);
+		config.setJdbcUrl(System.getenv("BENCHMARK_DB_URL"));
+		config.setUsername(System.getenv("BENCHMARK_DB_USERNAME"));
+		config.setPassword(System.getenv("BENCHMARK_DB_PASSWORD"));
+		config.setMaximumPoolSize(1);
+		// Null leaves the driver defaults in place.
+		if (prepareThreshold != null) {
+			config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+		}
+		return new HikariDataSource(config);
+	}
+
+	private int runUnclosed(HikariDataSource dataSource, int iterations) throws SQLException {
+		int rows = 0;
+		for (int i = 0; i < iterations; i++) {
+			try (Connection connection = dataSource.getConnection()) {
+				PreparedStatement statement = connection.prepareStatement(SQL);
+				statement.setInt(1, 20);
+				ResultSet resultSet = statement.executeQuery();
+				while (resultSet.next()) {
+					rows++;
+				}
+			}
+		}
+		return rows;
+	}
+
+	private int runExecutor(QueryExecutor queryExecutor, int iterations) {
+		int rows = 0;
+		for (int i = 0; i < iterations; i++) {
+			List<String> results = queryExecutor.query(SQL,
+					statement -> statement.setInt(1, 20),
+					resultSet -> resultSet.getString(2)
+			);
+			rows += results.size();
+		}
+		return rows;
+	}
+
+	@Test
+	public void compareThroughput() throws SQLException {
+		long unclosedNanos;
+		long executorNanos;
+		try (HikariDataSource dataSource = createDataSource(null)) {
+			runUnclosed(dataSource, WARMUP_ITERATIONS);
+			long start = System.nanoTime();
+			assertEquals(ITERATIONS * 10, runUnclosed(dataSource, ITERATIONS));
+			unclosedNanos = System.nanoTime() - start;
+		}
+		try (HikariDataSource dataSource = createDataSource(3)) {
+			QueryExecutor queryExecutor = new QueryExecutor(dataSource, dataSource);
+			runExecutor(queryExecutor, WARMUP_ITERATIONS);
+			long start = System.nanoTime();
+			assertEquals(ITERATIONS * 10, runExecutor(queryExecutor, ITERATIONS));
+			executorNanos = System.nanoTime() - start;
+		}
+		LOG.info("Unclosed statements with driver defaults: {} queries/s",
+				Math.round(ITERATIONS / (unclosedNanos / 1e9)));
+		LOG.info("QueryExecutor with prepare threshold 3: {} queries/s",
+				Math.round(ITERATIONS / (executorNanos / 1e9)));
+	}
+}
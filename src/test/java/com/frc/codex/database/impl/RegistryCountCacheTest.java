@@ -0,0 +1,58 @@
+package com.frc.codex.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.frc.codex.model.RegistryCode;
+
+public class RegistryCountCacheTest {
+	private AtomicLong clock;
+	private AtomicInteger loads;
+	private RegistryCountCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		clock = new AtomicLong(0);
+		loads = new AtomicInteger(0);
+		cache = new RegistryCountCache(registryCode -> {
+			loads.incrementAndGet();
+			return registryCode == RegistryCode.FCA ? 10 : 100;
+		}, 1000, clock::get);
+	}
+
+	@Test
+	public void cachesWithinTtl() {
+		assertEquals(10, cache.get(RegistryCode.FCA));
+		clock.set(999);
+		assertEquals(10, cache.get(RegistryCode.FCA));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void reloadsAfterTtl() {
+		cache.get(RegistryCode.FCA);
+		cache.increment(RegistryCode.FCA, 5);
+		clock.set(1000);
+		assertEquals(10, cache.get(RegistryCode.FCA));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void incrementsLoadedCounts() {
+		assertEquals(100, cache.get(RegistryCode.COMPANIES_HOUSE));
+		cache.increment(RegistryCode.COMPANIES_HOUSE, 3);
+		assertEquals(103, cache.get(RegistryCode.COMPANIES_HOUSE));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void ignoresIncrementsBeforeLoad() {
+		cache.increment(RegistryCode.FCA, 3);
+		assertEquals(10, cache.get(RegistryCode.FCA));
+	}
+}
@@ -0,0 +1,126 @@
+package com.frc.codex.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.frc.codex.model.FilingSummary;
+import com.frc.codex.model.NewFilingRequest;
+import com.frc.codex.model.SearchCursor;
+import com.frc.codex.model.SearchFilingsResult;
+
+public class SearchResultCacheTest {
+	private static final UUID FILING_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+	private static final LocalDateTime FILING_DATE = LocalDateTime.of(2024, 3, 1, 0, 0);
+	private AtomicInteger loads;
+	private SearchResultCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		loads = new AtomicInteger(0);
+		cache = new SearchResultCache(100, Duration.ofMinutes(5));
+	}
+
+	private SearchCacheKey key(String searchText) {
+		return new SearchCacheKey(searchText, 10, null, null, null, null, null, null, null);
+	}
+
+	private SearchFilingsResult search(String searchText) {
+		return cache.get(key(searchText), () -> {
+			loads.incrementAndGet();
+			return new SearchFilingsResult(List.of(filing()), new SearchCursor(null, FILING_DATE, FILING_ID, 10));
+		});
+	}
+
+	private FilingSummary filing() {
+		return FilingSummary.builder()
+				.filingId(FILING_ID.toString())
+				.companyName("Example Holdings")
+				.companyNumber("00000001")
+				.filingDate(FILING_DATE)
+				.build();
+	}
+
+	private NewFilingRequest newFiling(String companyNumber, String companyName, LocalDateTime filingDate) {
+		return NewFilingRequest.builder()
+				.companyNumber(companyNumber)
+				.companyName(companyName)
+				.downloadUrl("https://example.com/filing.zip")
+				.externalFilingId(companyNumber)
+				.externalViewUrl("https://example.com/filing")
+				.filingDate(filingDate)
+				.registryCode("CH")
+				.build();
+	}
+
+	@Test
+	public void cachesResults() {
+		search("example");
+		search("example");
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void invalidatesMatchingCompany() {
+		search("example");
+		search("00000002");
+		search("unrelated");
+		cache.invalidateNewFiling(newFiling("00000002", "Examples Limited", FILING_DATE));
+		search("example");
+		search("00000002");
+		search("unrelated");
+		assertEquals(5, loads.get());
+	}
+
+	@Test
+	public void invalidatesSubstringAndSimilarNameMatches() {
+		search("XAMPL");
+		search("EGZAMPLES");
+		search("ELSEWHERE");
+		cache.invalidateNewFiling(newFiling("00000002", "Examples Limited", FILING_DATE));
+		search("XAMPL");
+		search("EGZAMPLES");
+		search("ELSEWHERE");
+		assertEquals(5, loads.get());
+	}
+
+	@Test
+	public void invalidatesCachedFiling() {
+		search("example");
+		cache.invalidateFiling(UUID.randomUUID());
+		search("example");
+		assertEquals(1, loads.get());
+		cache.invalidateFiling(FILING_ID);
+		search("example");
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void invalidatesUnfilteredSearchOnlyWithinPage() {
+		search(null);
+		cache.invalidateNewFiling(newFiling("00000002", "Other", FILING_DATE.minusDays(1)));
+		search(null);
+		assertEquals(1, loads.get());
+		cache.invalidateNewFiling(newFiling("00000002", "Other", FILING_DATE.plusDays(1)));
+		search(null);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void doesNotCacheSearchInvalidatedWhileLoading() {
+		cache.get(key("example"), () -> {
+			loads.incrementAndGet();
+			cache.invalidateNewFiling(newFiling("00000002", "Example Limited", FILING_DATE));
+			return new SearchFilingsResult(List.of(), null);
+		});
+		search("example");
+		assertEquals(2, loads.get());
+	}
+}
@@ -1,8 +1,9 @@
 package com.frc.codex.database.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.context.annotation.Profile;
@@ -11,11 +12,17 @@ import org.springframework.stereotype.Component;
 import com.frc.codex.model.RegistryCode;
 import com.frc.codex.database.DatabaseManager;
 import com.frc.codex.model.Company;
+import com.frc.codex.model.CompanyNumberSet;
 import com.frc.codex.model.Filing;
+import com.frc.codex.model.FilingResult;
 import com.frc.codex.model.FilingResultRequest;
+import com.frc.codex.model.FilingStatistics;
 import com.frc.codex.model.FilingStatus;
+import com.frc.codex.model.FilingStatusUpdate;
+import com.frc.codex.model.FilingSummary;
 import com.frc.codex.model.NewFilingRequest;
 import com.frc.codex.model.SearchFilingsRequest;
+import com.frc.codex.model.SearchFilingsResult;
 import com.frc.codex.model.companieshouse.CompaniesHouseArchive;
 
 @Component
@@ -25,6 +32,14 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 
 	public void applyFilingResult(FilingResultRequest filingResultRequest) { }
 
+	public List<Boolean> applyFilingResults(List<FilingResultRequest> filingResultRequests) {
+		return Collections.nCopies(filingResultRequests.size(), true);
+	}
+
+	public List<FilingSummary> claimPendingFilings(int limit, RegistryCode registryCode) {
+		return List.of();
+	}
+
 	public boolean checkCompaniesLimit(int companiesLimit) {
 		return false;
 	}
@@ -49,6 +64,10 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 		return null;
 	}
 
+	public List<UUID> createFilings(List<NewFilingRequest> newFilingRequests) {
+		return List.of();
+	}
+
 	public boolean filingExists(String registryCode, String externalFilingId) {
 		return false;
 	}
@@ -57,6 +76,14 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 		return null;
 	}
 
+	public FilingSummary getFilingSummary(UUID filingId) {
+		return null;
+	}
+
+	public FilingResult getFilingResult(UUID filingId) {
+		return null;
+	}
+
 	public LocalDateTime getLatestFcaFilingDate(LocalDateTime defaultDate) {
 		return null;
 	}
@@ -65,11 +92,11 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 		return defaultTimepoint;
 	}
 
-	public List<Filing> getFilingsByStatus(FilingStatus status) {
-		return List.of();
+	public FilingStatistics getFilingStatistics() {
+		return new FilingStatistics(List.of(), List.of(), null);
 	}
 
-	public List<Filing> getFilingsByStatus(FilingStatus status, RegistryCode registryCode) {
+	public List<FilingSummary> getFilingsByStatus(FilingStatus status, RegistryCode registryCode, int limit) {
 		return List.of();
 	}
 
@@ -77,10 +104,24 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 		return 0;
 	}
 
+	public Long getStreamCheckpoint(String streamName) {
+		return null;
+	}
+
+	public void updateStreamCheckpoint(String streamName, long timepoint) { }
+
 	public void resetFiling(UUID filingId) { }
 
-	public List<Filing> searchFilings(SearchFilingsRequest searchFilingsRequest) {
-		return List.of();
+	public SearchFilingsResult searchFilings(SearchFilingsRequest searchFilingsRequest) {
+		return new SearchFilingsResult(List.of(), null);
+	}
+
+	public String getSearchCacheStatus() {
+		return "";
+	}
+
+	public String getMetricsReport() {
+		return "";
 	}
 
 	private Filing.Builder copyFiling(UUID filingId) {
@@ -89,14 +130,26 @@ public class TestDatabaseManagerImpl implements DatabaseManager {
 
 	private void updateFiling(Filing filing) {}
 
-	public void updateFilingStatus(UUID filingId, String status) { }
+	public int resetStaleQueuedFilings(Duration timeout) {
+		return 0;
+	}
+
+	public void updateFilingStatus(UUID filingId, LocalDateTime filingDate, String status) { }
+
+	public int updateFilingStatuses(List<FilingStatusUpdate> updates) {
+		return updates.size();
+	}
 
-	public Set<String> getCompaniesCompanyNumbers() {
-		return Set.of();
+	public CompanyNumberSet getCompaniesCompanyNumbers() {
+		return CompanyNumberSet.builder(0).build();
 	}
 
 	public void createCompany(Company company) { }
 
+	public long createCompanies(Iterable<String> companyNumbers) {
+		return 0;
+	}
+
 	public void updateCompany(Company company) { }
 
 	public List<Company> getIncompleteCompanies(int limit) {
@@ -58,10 +58,18 @@ public class TestFilingIndexPropertiesImpl implements FilingIndexProperties {
 		return "XXX";
 	}
 
+	public boolean dbReadReplica() {
+		return false;
+	}
+
 	public String dbSeedScriptPath() {
 		return null;
 	}
 
+	public long dbSlowQueryThresholdMillis() {
+		return 500;
+	}
+
 	public boolean enablePreprocessing() {
 		return false;
 	}
@@ -122,6 +130,10 @@ public class TestFilingIndexPropertiesImpl implements FilingIndexProperties {
 		return 100;
 	}
 
+	public long queuedFilingTimeoutMinutes() {
+		return 360;
+	}
+
 	public String s3ResultsBucketName() {
 		return "frc-codex-results";
 	}
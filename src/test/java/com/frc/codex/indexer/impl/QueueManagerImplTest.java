@@ -0,0 +1,72 @@
+package com.frc.codex.indexer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.frc.codex.impl.TestFilingIndexPropertiesImpl;
+import com.frc.codex.model.FilingResultRequest;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+public class QueueManagerImplTest {
+	private static final UUID FILING_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+	private static final UUID FILING_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+	@Test
+	public void skipsMalformedResultsMessages() {
+		SqsClient sqsClient = mock(SqsClient.class);
+		when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+				.thenReturn(DeleteMessageBatchResponse.builder().build());
+		List<Message> messages = List.of(
+				message("a", Map.of("FilingId", FILING_A.toString(), "Success", "true")),
+				message("missing-id", Map.of("Success", "true")),
+				message("bad-date", Map.of("FilingId", FILING_A.toString(), "DocumentDate", "yesterday")),
+				message("b", Map.of("FilingId", FILING_B.toString(), "Success", "false"))
+		);
+		List<FilingResultRequest> applied = new ArrayList<>();
+
+		new QueueManagerImpl(new TestFilingIndexPropertiesImpl()).applyResults(sqsClient, "queue", messages, requests -> {
+			applied.addAll(requests);
+			return Collections.nCopies(requests.size(), true);
+		});
+
+		assertEquals(List.of(FILING_A, FILING_B), applied.stream().map(FilingResultRequest::getFilingId).toList());
+		ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+		verify(sqsClient).deleteMessageBatch(captor.capture());
+		assertEquals(List.of("receipt-a", "receipt-b"), captor.getValue().entries().stream()
+				.map(DeleteMessageBatchRequestEntry::receiptHandle)
+				.toList());
+	}
+
+	private static Message message(String id, Map<String, String> attributes) {
+		Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+		attributes.forEach((key, value) -> messageAttributes.put(key, MessageAttributeValue.builder()
+				.dataType("String")
+				.stringValue(value)
+				.build()));
+		return Message.builder()
+				.messageId(id)
+				.receiptHandle("receipt-" + id)
+				.body("logs")
+				.messageAttributes(messageAttributes)
+				.build();
+	}
+}
@@ -0,0 +1,42 @@
+package com.frc.codex.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CompanyNumberSetTest {
+	@Test
+	public void containsBuiltNumbers() {
+		CompanyNumberSet set = CompanyNumberSet.builder(2)
+				.add("13056435")
+				.add("SC123456")
+				.add("13056435")
+				.add("1234")
+				.add("sc123456")
+				.build();
+		assertEquals(4, set.size());
+		assertTrue(set.contains("13056435"));
+		assertTrue(set.contains("SC123456"));
+		assertTrue(set.contains("1234"));
+		assertTrue(set.contains("sc123456"));
+		assertFalse(set.contains("00001234"));
+		assertFalse(set.contains("SC123457"));
+	}
+
+	@Test
+	public void addsOnlyNewNumbersInOrder() {
+		CompanyNumberSet set = CompanyNumberSet.builder(0)
+				.add("00000002")
+				.build();
+		List<String> added = set.addAll(List.of("ZZZZZZZZ", "00000002", "00000001", "ZZZZZZZZ", "1234", "1234"));
+		assertEquals(List.of("ZZZZZZZZ", "00000001", "1234"), added);
+		assertEquals(4, set.size());
+		assertTrue(set.contains("00000001"));
+		assertTrue(set.contains("ZZZZZZZZ"));
+		assertEquals(List.of("00000003"), set.addAll(List.of("00000001", "00000003")));
+	}
+}
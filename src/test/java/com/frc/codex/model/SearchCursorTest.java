@@ -0,0 +1,36 @@
+package com.frc.codex.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchCursorTest {
+	@Test
+	public void roundTripsRankedCursor() {
+		SearchCursor cursor = new SearchCursor(
+				0.0607927f,
+				LocalDateTime.of(2024, 3, 1, 12, 30),
+				UUID.randomUUID(),
+				50
+		);
+		assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	public void roundTripsUnrankedCursorWithoutFilingDate() {
+		SearchCursor cursor = new SearchCursor(null, null, UUID.randomUUID(), 0);
+		assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	public void ignoresMalformedTokens() {
+		assertNull(SearchCursor.decode(null));
+		assertNull(SearchCursor.decode(""));
+		assertNull(SearchCursor.decode("not a cursor"));
+		assertNull(SearchCursor.decode("YnxjfGQ"));
+	}
+}